@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.fields;
+
+/**
+ * Tells a running {@link FunctionField} whether its caller still waits for the result. Functions
+ * that block on remote systems should bound their waits by the remaining time and stop once
+ * cancelled, so that abandoned requests give back their threads and connections.
+ */
+public interface Cancellation {
+
+  /** Cancellation of a caller that never gives up and has no deadline. */
+  Cancellation NONE =
+      new Cancellation() {
+        @Override
+        public boolean isCancelled() {
+          return false;
+        }
+
+        @Override
+        public long getRemainingMillis() {
+          return Long.MAX_VALUE;
+        }
+      };
+
+  /** @return whether the caller gave up on the result or its deadline passed */
+  boolean isCancelled();
+
+  /**
+   * @return milliseconds left until the deadline, 0 once cancelled, or {@link Long#MAX_VALUE} if
+   *     there is no deadline
+   */
+  long getRemainingMillis();
+}
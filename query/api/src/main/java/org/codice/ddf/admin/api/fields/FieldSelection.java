@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.fields;
+
+/**
+ * The fields of a {@link FunctionField}'s return type that were requested by the caller. Functions
+ * can use it to skip computing values nobody asked for.
+ */
+public interface FieldSelection {
+
+  /** Selection of every field, used when the caller did not say which fields it needs. */
+  FieldSelection ALL =
+      new FieldSelection() {
+        @Override
+        public boolean contains(String fieldName) {
+          return true;
+        }
+
+        @Override
+        public FieldSelection getSelection(String fieldName) {
+          return this;
+        }
+      };
+
+  /**
+   * @param fieldName name of a field of the selected object
+   * @return whether the field was requested
+   */
+  boolean contains(String fieldName);
+
+  /**
+   * @param fieldName name of a field of the selected object
+   * @return the selection of the fields of the given field, which is empty if the field was not
+   *     requested
+   */
+  FieldSelection getSelection(String fieldName);
+}
@@ -38,7 +38,41 @@ public interface FunctionField<T extends Field> {
 
   FunctionReport<T> execute(Map<String, Object> args, List<Object> functionPath);
 
+  /**
+   * Executes the function knowing which fields of its return type were requested. Functions that do
+   * not make use of the selection compute every field.
+   *
+   * @param selection fields of the return type requested by the caller
+   */
+  default FunctionReport<T> execute(
+      Map<String, Object> args, List<Object> functionPath, FieldSelection selection) {
+    return execute(args, functionPath);
+  }
+
+  /**
+   * Executes the function on behalf of a caller that may give up on the result. Functions that do
+   * not make use of the cancellation run to completion.
+   *
+   * @param selection fields of the return type requested by the caller
+   * @param cancellation deadline and cancellation of the caller's request
+   */
+  default FunctionReport<T> execute(
+      Map<String, Object> args,
+      List<Object> functionPath,
+      FieldSelection selection,
+      Cancellation cancellation) {
+    return execute(args, functionPath, selection);
+  }
+
   FunctionField<T> newInstance();
 
   List<Object> getPath();
+
+  /**
+   * @return the relative cost of executing this function, used to limit the cost of a query.
+   *     Functions that probe remote systems cost more than functions that read local configuration.
+   */
+  default int getCost() {
+    return 1;
+  }
 }
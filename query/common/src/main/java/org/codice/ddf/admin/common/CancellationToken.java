@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common;
+
+import org.codice.ddf.admin.api.fields.Cancellation;
+
+/**
+ * {@link Cancellation} of a request that must complete before a deadline and is cancelled once its
+ * caller gives up on it, such as when the client disconnects.
+ */
+public class CancellationToken implements Cancellation {
+
+  private final long deadlineMillis;
+
+  private volatile boolean cancelled;
+
+  /** @param timeoutMillis milliseconds from now until the deadline of the request */
+  public CancellationToken(long timeoutMillis) {
+    long now = System.currentTimeMillis();
+    deadlineMillis = timeoutMillis >= Long.MAX_VALUE - now ? Long.MAX_VALUE : now + timeoutMillis;
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  @Override
+  public boolean isCancelled() {
+    return cancelled || System.currentTimeMillis() >= deadlineMillis;
+  }
+
+  @Override
+  public long getRemainingMillis() {
+    if (cancelled) {
+      return 0;
+    } else if (deadlineMillis == Long.MAX_VALUE) {
+      return Long.MAX_VALUE;
+    }
+
+    return Math.max(0, deadlineMillis - System.currentTimeMillis());
+  }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.fields.Cancellation;
+
+/**
+ * Binds the {@link Cancellation} of a request to the threads working on it, so that the utilities
+ * called by a function honour the deadline of the request without passing it through every call.
+ */
+public final class Cancellations {
+
+  private static final ThreadLocal<Cancellation> CURRENT = new ThreadLocal<>();
+
+  private Cancellations() {}
+
+  /** @return the cancellation of the request the current thread works on, if any */
+  public static Cancellation current() {
+    Cancellation cancellation = CURRENT.get();
+    return cancellation == null ? Cancellation.NONE : cancellation;
+  }
+
+  /** Gets the {@code supplier}'s result with the {@code cancellation} bound to the thread. */
+  public static <T> T runWith(Cancellation cancellation, Supplier<T> supplier) {
+    Cancellation previous = CURRENT.get();
+    CURRENT.set(cancellation);
+    try {
+      return supplier.get();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /**
+   * @return a task that runs the {@code task} with the current thread's cancellation bound to the
+   *     thread running it
+   */
+  public static <T> Callable<T> propagate(Callable<T> task) {
+    Cancellation cancellation = current();
+    return () -> {
+      Cancellation previous = CURRENT.get();
+      CURRENT.set(cancellation);
+      try {
+        return task.call();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  /**
+   * Bounds a socket timeout by the time left until the deadline of the current request.
+   *
+   * @param timeoutMillis timeout in milliseconds, or 0 for no timeout
+   * @return the smaller of the {@code timeoutMillis} and the remaining time, but at least 1 since a
+   *     timeout of 0 waits forever. The {@code timeoutMillis} if the request has no deadline.
+   */
+  public static long timeoutMillis(long timeoutMillis) {
+    long remaining = current().getRemainingMillis();
+    if (remaining == Long.MAX_VALUE) {
+      return timeoutMillis;
+    }
+
+    return Math.max(1, timeoutMillis > 0 ? Math.min(timeoutMillis, remaining) : remaining);
+  }
+
+  private static void restore(Cancellation previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+}
@@ -26,6 +26,7 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.commons.lang.Validate;
+import org.codice.ddf.admin.api.fields.Cancellation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,6 +44,8 @@ public class PrioritizedBatchExecutor<T, R> {
 
   private static final int DEFAULT_WAIT_TIME_SEC = 60;
 
+  private static final long CANCELLATION_CHECK_INTERVAL_MILLIS = 1000;
+
   private final ExecutorService threadPool;
 
   private final List<List<Callable<T>>> tasks;
@@ -102,6 +105,9 @@ public class PrioritizedBatchExecutor<T, R> {
    * not been polled, each remaining batch will be polled at least once until a result is found or
    * until all batches have been polled.
    *
+   * <p>The wait never exceeds the deadline of the request the calling thread works on, and no
+   * result is returned once that request is cancelled. See {@link Cancellations}.
+   *
    * @param totalWaitTime total wait time for execution
    * @param timeUnit {@code TimeUnit} to use for the {@code batchWaitTime}
    * @return an {@code Optional} containing a task's result, if there was one
@@ -110,15 +116,25 @@ public class PrioritizedBatchExecutor<T, R> {
     Validate.isTrue(totalWaitTime >= 1, "Batch wait time must be greater than 0.");
     Validate.notNull(timeUnit, "Argument {timeUnit} cannot be null.");
 
+    Cancellation cancellation = Cancellations.current();
     try {
       List<CompletionService<T>> prioritizedCompletionServices = getPrioritizedCompletionServices();
 
-      long totalWaitTimeMillis = TimeUnit.MILLISECONDS.convert(totalWaitTime, timeUnit);
+      long totalWaitTimeMillis =
+          Math.min(
+              TimeUnit.MILLISECONDS.convert(totalWaitTime, timeUnit),
+              cancellation.getRemainingMillis());
       long endTime = System.currentTimeMillis() + totalWaitTimeMillis;
 
       for (int i = 0; i < tasks.size(); i++) {
+        if (cancellation.isCancelled()) {
+          LOGGER.debug("Request cancelled, skipping the remaining batches.");
+          return Optional.empty();
+        }
+
         Optional<R> result =
-            getResult(totalWaitTime, timeUnit, prioritizedCompletionServices, endTime, i);
+            getResult(
+                totalWaitTime, timeUnit, prioritizedCompletionServices, endTime, i, cancellation);
         if (result.isPresent()) {
           return result;
         }
@@ -135,14 +151,15 @@ public class PrioritizedBatchExecutor<T, R> {
       TimeUnit timeUnit,
       List<CompletionService<T>> prioritizedCompletionServices,
       long endTime,
-      int index) {
+      int index,
+      Cancellation cancellation) {
     LOGGER.debug("Executing batch {}.", index + 1);
 
     CompletionService<T> completionService = prioritizedCompletionServices.get(index);
     int currentBatchSize = tasks.get(index).size();
 
     long lastBatchPollTime = System.currentTimeMillis();
-    for (int j = 0; j < currentBatchSize; j++) {
+    for (int j = 0; j < currentBatchSize && !cancellation.isCancelled(); j++) {
 
       Future<T> taskFuture;
 
@@ -161,7 +178,7 @@ public class PrioritizedBatchExecutor<T, R> {
               index + 1,
               pollTime);
 
-          taskFuture = completionService.poll(pollTime, TimeUnit.MILLISECONDS);
+          taskFuture = poll(completionService, endTime, cancellation);
           lastBatchPollTime = System.currentTimeMillis();
         } catch (InterruptedException e) {
           LOGGER.debug(
@@ -182,6 +199,26 @@ public class PrioritizedBatchExecutor<T, R> {
     return Optional.empty();
   }
 
+  /**
+   * Polls the completion service until a task completes, the {@code endTime} passes or the request
+   * is cancelled.
+   *
+   * @return the completed task, or null if none completed
+   */
+  private Future<T> poll(
+      CompletionService<T> completionService, long endTime, Cancellation cancellation)
+      throws InterruptedException {
+    Future<T> taskFuture = null;
+    long now = System.currentTimeMillis();
+    while (taskFuture == null && now < endTime && !cancellation.isCancelled()) {
+      taskFuture =
+          completionService.poll(
+              Math.min(endTime - now, CANCELLATION_CHECK_INTERVAL_MILLIS), TimeUnit.MILLISECONDS);
+      now = System.currentTimeMillis();
+    }
+    return taskFuture;
+  }
+
   private Optional<R> pollRemainingBatches(
       long totalWaitTime,
       TimeUnit timeUnit,
@@ -213,7 +250,8 @@ public class PrioritizedBatchExecutor<T, R> {
       CompletionService<T> completionService = new ExecutorCompletionService<>(threadPool);
 
       for (Callable<T> task : taskBatch) {
-        completionService.submit(task);
+        // Lets the tasks honour the deadline of the request as well
+        completionService.submit(Cancellations.propagate(task));
       }
 
       prioritizedCompletionServices.add(completionService);
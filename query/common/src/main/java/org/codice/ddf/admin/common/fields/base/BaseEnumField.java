@@ -16,7 +16,7 @@ package org.codice.ddf.admin.common.fields.base;
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.unsupportedEnum;
 
 import com.google.common.collect.ImmutableSet;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.fields.EnumField;
@@ -39,9 +39,13 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
    */
   public BaseEnumField(String fieldName, String fieldTypeName, String description) {
     super(fieldName, fieldTypeName, description);
-    this.enumValues = new ArrayList<>();
+    this.enumValues = Collections.emptyList();
   }
 
+  /**
+   * @param enumValues the supported values, which are not copied so that every instance of an enum
+   *     field can share the same immutable list
+   */
   public BaseEnumField(
       String fieldName, String fieldTypeName, String description, List<EnumValue<S>> enumValues) {
     this(fieldName, fieldTypeName, description);
@@ -76,17 +80,7 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
   @Override
   public void setValue(S value) {
     if (value != null) {
-      enumValue =
-          getEnumValues()
-              .stream()
-              .map(EnumValue::getValue)
-              .filter(
-                  o ->
-                      o.equals(value)
-                          || (o instanceof String
-                              && o.toString().equalsIgnoreCase(value.toString())))
-              .findFirst()
-              .orElse(value);
+      enumValue = getEnumValueIndex().getCanonicalValue(value);
     }
   }
 
@@ -95,14 +89,37 @@ public abstract class BaseEnumField<S> extends BaseField<S> implements EnumField
     List<ErrorMessage> validationMsgs = super.validate();
 
     if ((validationMsgs.isEmpty() && getValue() != null)
-        && getEnumValues().stream().map(EnumValue::getValue).noneMatch(v -> v.equals(getValue()))) {
+        && !getEnumValueIndex().contains(getValue())) {
       validationMsgs.add(unsupportedEnum(getPath()));
     }
     return validationMsgs;
   }
 
+  /**
+   * The index is built once per field class and type, and shared by every instance of the field as
+   * long as they have the same supported values. Fields whose values change at runtime should
+   * override this to return an index that is only rebuilt when the values change.
+   *
+   * @return lookup of the supported values of this field
+   */
+  protected EnumValueIndex<S> getEnumValueIndex() {
+    List<EnumValue<S>> values = getEnumValues();
+    EnumValueIndex<S> index =
+        FieldMetadataRegistry.getEnumValueIndex(
+            getClass(), getFieldType(), () -> EnumValueIndex.of(values));
+    return index.indexes(values) ? index : EnumValueIndex.of(values);
+  }
+
+  /**
+   * The error codes of an enum field are computed once per field class and type, and reused by
+   * every other instance of the field.
+   */
   @Override
   public Set<String> getErrorCodes() {
+    return FieldMetadataRegistry.getErrorCodes(getClass(), getFieldType(), this::createErrorCodes);
+  }
+
+  private Set<String> createErrorCodes() {
     return new ImmutableSet.Builder<String>()
         .addAll(super.getErrorCodes())
         .add(DefaultMessages.UNSUPPORTED_ENUM)
@@ -17,7 +17,9 @@ import static org.codice.ddf.admin.common.report.message.DefaultMessages.missing
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
@@ -26,6 +28,9 @@ import org.codice.ddf.admin.common.report.message.DefaultMessages;
 
 public abstract class BaseField<T> implements Field<T> {
 
+  private static final Set<String> ERROR_CODES =
+      ImmutableSet.of(DefaultMessages.MISSING_REQUIRED_FIELD);
+
   private String name;
 
   private String typeName;
@@ -34,6 +39,10 @@ public abstract class BaseField<T> implements Field<T> {
 
   private List<Object> path;
 
+  private BaseField<?> parent;
+
+  private Object pathSegment;
+
   private boolean isRequired;
 
   private T value;
@@ -42,7 +51,7 @@ public abstract class BaseField<T> implements Field<T> {
     this.name = name;
     this.typeName = typeName;
     this.description = description;
-    path = new ArrayList<>();
+    path = ImmutableList.of();
     isRequired = false;
   }
 
@@ -63,7 +72,7 @@ public abstract class BaseField<T> implements Field<T> {
 
   @Override
   public Set<String> getErrorCodes() {
-    return ImmutableSet.of(DefaultMessages.MISSING_REQUIRED_FIELD);
+    return ERROR_CODES;
   }
 
   @Override
@@ -103,14 +112,55 @@ public abstract class BaseField<T> implements Field<T> {
     return errors;
   }
 
+  /**
+   * A field linked to a parent only stores its own segment of the path, so the full path is built
+   * by walking up the parents when it is requested, usually by an {@link ErrorMessage}.
+   */
   @Override
   public List<Object> getPath() {
-    return new ImmutableList.Builder().addAll(path).build();
+    if (parent == null) {
+      return path;
+    }
+
+    Deque<Object> segments = new ArrayDeque<>();
+    BaseField<?> field = this;
+    while (field.parent != null) {
+      segments.push(field.pathSegment);
+      field = field.parent;
+    }
+
+    return new ImmutableList.Builder<>().addAll(field.path).addAll(segments).build();
   }
 
   @Override
   public void setPath(List<Object> path) {
-    this.path.clear();
-    this.path.addAll(path);
+    this.path = ImmutableList.copyOf(path);
+    parent = null;
+    pathSegment = null;
+    linkChildren();
+  }
+
+  /**
+   * Links this field under the given parent, so that its path is the path of the parent followed by
+   * the segment.
+   */
+  void linkTo(BaseField<?> parent, Object segment) {
+    this.parent = parent;
+    pathSegment = segment;
+    path = ImmutableList.of();
+    linkChildren();
+  }
+
+  /** Links the inner fields of this field to it. Called whenever the path of this field changes. */
+  void linkChildren() {
+    // no inner fields by default
+  }
+
+  static void linkChild(BaseField<?> parent, Field child, Object segment) {
+    if (child instanceof BaseField) {
+      ((BaseField<?>) child).linkTo(parent, segment);
+    } else {
+      child.setPath(new ImmutableList.Builder<>().addAll(parent.getPath()).add(segment).build());
+    }
   }
 }
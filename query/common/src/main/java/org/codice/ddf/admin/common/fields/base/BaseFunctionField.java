@@ -15,7 +15,6 @@ package org.codice.ddf.admin.common.fields.base;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
@@ -23,15 +22,22 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.Cancellation;
+import org.codice.ddf.admin.api.fields.FieldSelection;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.api.report.FunctionReport;
 import org.codice.ddf.admin.api.report.Report;
+import org.codice.ddf.admin.common.Cancellations;
 import org.codice.ddf.admin.common.report.FunctionReportImpl;
 import org.codice.ddf.admin.common.report.message.ErrorMessageImpl;
 
 public abstract class BaseFunctionField<T extends Field> implements FunctionField<T> {
 
+  public static final int DEFAULT_COST = 1;
+
+  public static final int NETWORK_PROBE_COST = 10;
+
   private FunctionReportImpl<T> report;
 
   private String name;
@@ -40,11 +46,17 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
 
   private List<Object> path;
 
+  private FieldSelection selection;
+
+  private Cancellation cancellation;
+
   public BaseFunctionField(String name, String description) {
     this.name = name;
     this.description = description;
-    path = new ArrayList<>();
+    path = ImmutableList.of();
     report = new FunctionReportImpl<>();
+    selection = FieldSelection.ALL;
+    cancellation = Cancellation.NONE;
   }
 
   @Override
@@ -54,20 +66,23 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
 
   @Override
   public String getDescription() {
-    Set<String> errors = getErrorCodes();
-    if (!errors.isEmpty()) {
-      return String.format(
-          "%s %n%n The possible errors are: %n- %s", description, formatErrorCodes(errors));
-    }
-    return description;
+    return FieldMetadataRegistry.getDescription(getClass(), name, this::createDescription);
   }
 
   public abstract T performFunction();
 
   public abstract Set<String> getFunctionErrorCodes();
 
+  /**
+   * The error codes of a function are computed once per function class and name, and reused by
+   * every other instance of the function.
+   */
   @Override
   public Set<String> getErrorCodes() {
+    return FieldMetadataRegistry.getErrorCodes(getClass(), name, this::createErrorCodes);
+  }
+
+  private Set<String> createErrorCodes() {
     Set<String> errorCodes = new HashSet<>();
     for (Field field : getArguments()) {
       errorCodes.addAll(field.getErrorCodes());
@@ -78,6 +93,15 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
         .build();
   }
 
+  private String createDescription() {
+    Set<String> errors = getErrorCodes();
+    if (!errors.isEmpty()) {
+      return String.format(
+          "%s %n%n The possible errors are: %n- %s", description, formatErrorCodes(errors));
+    }
+    return description;
+  }
+
   protected void setArguments(Map<String, Object> args) {
     if (args == null || args.isEmpty()) {
       return;
@@ -94,30 +118,72 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
     setArguments(args);
     setPath(functionPath);
     validate();
-    if (!report.containsErrorMessages()) {
+    // Nobody waits for the result of a cancelled request
+    if (!report.containsErrorMessages() && !cancellation.isCancelled()) {
       report.setResult(performFunction());
     }
 
     return report;
   }
 
+  @Override
+  public FunctionReport<T> execute(
+      Map<String, Object> args, List<Object> functionPath, FieldSelection selection) {
+    this.selection = selection == null ? FieldSelection.ALL : selection;
+    return execute(args, functionPath);
+  }
+
+  /**
+   * @return the fields of the return type requested by the caller. Every field is selected unless
+   *     the function was executed with a selection.
+   */
+  protected FieldSelection getSelection() {
+    return selection;
+  }
+
+  /**
+   * The cancellation is also bound to the thread while the function performs, so that the utilities
+   * it calls can find it through {@link Cancellations#current()}.
+   */
+  @Override
+  public FunctionReport<T> execute(
+      Map<String, Object> args,
+      List<Object> functionPath,
+      FieldSelection selection,
+      Cancellation cancellation) {
+    this.cancellation = cancellation == null ? Cancellation.NONE : cancellation;
+    return Cancellations.runWith(this.cancellation, () -> execute(args, functionPath, selection));
+  }
+
+  /**
+   * @return the deadline and cancellation of the caller's request. The function is never cancelled
+   *     unless it was executed with a cancellation.
+   */
+  protected Cancellation getCancellation() {
+    return cancellation;
+  }
+
   @Override
   public List<Object> getPath() {
-    return new ImmutableList.Builder<>().addAll(path).build();
+    return path;
+  }
+
+  @Override
+  public int getCost() {
+    return DEFAULT_COST;
   }
 
   protected void setPath(List<Object> path) {
     if (path == null) {
       return;
     }
-    this.path.clear();
-    this.path.addAll(path);
+    this.path = ImmutableList.copyOf(path);
     getArguments()
         .forEach(
             arg ->
                 arg.setPath(
                     new ImmutableList.Builder<>()
-                        .addAll(getPath())
+                        .addAll(this.path)
                         .add(arg.getFieldName())
                         .build()));
   }
@@ -13,7 +13,6 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -91,6 +90,38 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
     return this;
   }
 
+  /**
+   * Adds the field itself to the list instead of a copy of it. The list takes ownership of the
+   * field, so the caller should not modify or add the field anywhere else afterwards.
+   *
+   * <p>Unlike {@link #add(Field)}, the field is not created through {@link #createListEntry()}, so
+   * this is meant for fields that are built to be returned, such as function results.
+   */
+  public BaseListField<T> adopt(T field) {
+    elements.add(field);
+    return this;
+  }
+
+  /**
+   * Adds the fields themselves to the list instead of copies of them. See {@link #adopt(Field)}.
+   */
+  public BaseListField<T> addAllOwned(Collection<T> fields) {
+    expectedSize(elements.size() + fields.size());
+    fields.forEach(this::adopt);
+    return this;
+  }
+
+  /**
+   * Sizes the list up front for the given number of elements, so that building a large result does
+   * not grow it repeatedly.
+   */
+  public BaseListField<T> expectedSize(int size) {
+    if (elements instanceof ArrayList) {
+      ((ArrayList<T>) elements).ensureCapacity(size);
+    }
+    return this;
+  }
+
   @Override
   public List<ErrorMessage> validate() {
     List<ErrorMessage> validationMsgs = super.validate();
@@ -115,25 +146,28 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
   }
 
   @Override
-  public void setPath(List<Object> path) {
-    super.setPath(path);
+  void linkChildren() {
     for (int i = 0; i < getList().size(); i++) {
-      getList().get(i).setPath(createElemPath(getPath(), i));
+      linkChild(this, getList().get(i), i);
     }
   }
 
+  /**
+   * The error codes of a list field are computed once per field class and type, so that a list
+   * entry is only created the first time they are requested.
+   */
   @Override
   public Set<String> getErrorCodes() {
+    return FieldMetadataRegistry.getErrorCodes(getClass(), getFieldType(), this::createErrorCodes);
+  }
+
+  private Set<String> createErrorCodes() {
     return new ImmutableSet.Builder<String>()
         .addAll(super.getErrorCodes())
         .addAll(createListEntry().getErrorCodes())
         .build();
   }
 
-  private List<Object> createElemPath(List<Object> path, int index) {
-    return new ImmutableList.Builder<>().addAll(path).add(index).build();
-  }
-
   public BaseListField<T> useDefaultRequired() {
     return this;
   }
@@ -13,7 +13,6 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
 import java.util.HashMap;
@@ -85,16 +84,23 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
   }
 
   @Override
-  public void setPath(List<Object> path) {
-    super.setPath(path);
+  void linkChildren() {
     getFields()
         .stream()
         .filter(Objects::nonNull)
-        .forEach(child -> child.setPath(createInnerFieldPath(getPath(), child.getFieldName())));
+        .forEach(child -> linkChild(this, child, child.getFieldName()));
   }
 
+  /**
+   * The error codes of an object field are computed once per field class and type, and reused by
+   * every other instance of the field.
+   */
   @Override
   public Set<String> getErrorCodes() {
+    return FieldMetadataRegistry.getErrorCodes(getClass(), getFieldType(), this::createErrorCodes);
+  }
+
+  private Set<String> createErrorCodes() {
     return new ImmutableSet.Builder<String>()
         .addAll(super.getErrorCodes())
         .addAll(
@@ -105,8 +111,4 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
                 .collect(Collectors.toList()))
         .build();
   }
-
-  private List<Object> createInnerFieldPath(List<Object> path, String childName) {
-    return new ImmutableList.Builder<>().addAll(path).add(childName).build();
-  }
 }
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.codice.ddf.admin.api.fields.EnumValue;
+
+/**
+ * Immutable lookup of the supported values of an enum type. String values are also indexed by their
+ * lower cased form, so that values can be matched regardless of their case without scanning every
+ * supported value.
+ *
+ * @param <S> type of the enum values
+ */
+public final class EnumValueIndex<S> {
+
+  private final List<EnumValue<S>> enumValues;
+
+  private final Map<S, S> values;
+
+  private final Map<String, S> caseFoldedValues;
+
+  private EnumValueIndex(List<EnumValue<S>> enumValues) {
+    this.enumValues = enumValues;
+
+    Map<S, S> exact = new HashMap<>();
+    Map<String, S> caseFolded = new HashMap<>();
+    for (EnumValue<S> enumValue : enumValues) {
+      S value = enumValue.getValue();
+      if (value == null) {
+        continue;
+      }
+
+      exact.putIfAbsent(value, value);
+      if (value instanceof String) {
+        caseFolded.putIfAbsent(fold(value.toString()), value);
+      }
+    }
+
+    values = ImmutableMap.copyOf(exact);
+    caseFoldedValues = ImmutableMap.copyOf(caseFolded);
+  }
+
+  /**
+   * @param enumValues the supported values, which are kept as is rather than copied
+   * @return an index of the supported values
+   */
+  public static <S> EnumValueIndex<S> of(List<EnumValue<S>> enumValues) {
+    return new EnumValueIndex<>(enumValues);
+  }
+
+  /** @return the supported values this index was built from */
+  public List<EnumValue<S>> getEnumValues() {
+    return enumValues;
+  }
+
+  /**
+   * @param enumValues supported values
+   * @return true if this index was built from the same list of supported values
+   */
+  public boolean indexes(List<EnumValue<S>> enumValues) {
+    return this.enumValues == enumValues;
+  }
+
+  /**
+   * @param value value to look up
+   * @return the supported value matching the given value, ignoring the case of string values, or
+   *     the given value itself if it is not supported
+   */
+  public S getCanonicalValue(S value) {
+    if (value == null) {
+      return null;
+    }
+
+    S canonical = null;
+    if (value instanceof String) {
+      canonical = caseFoldedValues.get(fold(value.toString()));
+    }
+    if (canonical == null) {
+      canonical = values.get(value);
+    }
+    return canonical == null ? value : canonical;
+  }
+
+  /**
+   * @param value value to look up
+   * @return true if the value is exactly one of the supported values
+   */
+  public boolean contains(S value) {
+    return value != null && values.containsKey(value);
+  }
+
+  private static String fold(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+}
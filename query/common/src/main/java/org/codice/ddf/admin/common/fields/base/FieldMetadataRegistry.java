@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Memoizes the error codes and descriptions of fields and functions. Both only depend on the class
+ * of the field or function and on its type or function name, but computing them walks every nested
+ * field, and every schema build asks for them again. The value indexes of enum fields are kept the
+ * same way, since every value set on an enum field is looked up in them.
+ *
+ * <p>The entries are held by a {@link ClassValue} so that they do not keep the classes of
+ * uninstalled bundles loaded.
+ */
+final class FieldMetadataRegistry {
+
+  private static final ClassValue<Map<String, Set<String>>> ERROR_CODES = new Registry<>();
+
+  private static final ClassValue<Map<String, String>> DESCRIPTIONS = new Registry<>();
+
+  private static final ClassValue<Map<String, EnumValueIndex<?>>> ENUM_VALUE_INDEXES =
+      new Registry<>();
+
+  private FieldMetadataRegistry() {}
+
+  /**
+   * @param owner class of the field or function
+   * @param name field type or function name, may be null
+   * @param errorCodes computes the error codes the first time they are requested
+   */
+  static Set<String> getErrorCodes(Class<?> owner, String name, Supplier<Set<String>> errorCodes) {
+    return memoize(ERROR_CODES.get(owner), name, errorCodes);
+  }
+
+  /**
+   * @param owner class of the field or function
+   * @param name field type or function name, may be null
+   * @param description computes the description the first time it is requested
+   */
+  static String getDescription(Class<?> owner, String name, Supplier<String> description) {
+    return memoize(DESCRIPTIONS.get(owner), name, description);
+  }
+
+  /**
+   * @param owner class of the enum field
+   * @param name field type, may be null
+   * @param index builds the index the first time it is requested
+   */
+  @SuppressWarnings("unchecked")
+  static <S> EnumValueIndex<S> getEnumValueIndex(
+      Class<?> owner, String name, Supplier<EnumValueIndex<S>> index) {
+    return (EnumValueIndex<S>) memoize(ENUM_VALUE_INDEXES.get(owner), name, index::get);
+  }
+
+  // Not computeIfAbsent since computing the error codes of a field reads the error codes of its
+  // nested fields, which would update the same map recursively
+  private static <V> V memoize(Map<String, V> values, String name, Supplier<V> supplier) {
+    String key = name == null ? "" : name;
+    V value = values.get(key);
+    if (value == null) {
+      value = supplier.get();
+      if (value == null) {
+        return null;
+      }
+
+      V existing = values.putIfAbsent(key, value);
+      if (existing != null) {
+        value = existing;
+      }
+    }
+    return value;
+  }
+
+  private static class Registry<V> extends ClassValue<Map<String, V>> {
+    @Override
+    protected Map<String, V> computeValue(Class<?> type) {
+      return new ConcurrentHashMap<>();
+    }
+  }
+}
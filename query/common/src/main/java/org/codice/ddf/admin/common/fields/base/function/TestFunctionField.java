@@ -28,4 +28,9 @@ public abstract class TestFunctionField extends BaseFunctionField<BooleanField>
   public BooleanField getReturnType() {
     return RETURN_TYPE;
   }
+
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
 }
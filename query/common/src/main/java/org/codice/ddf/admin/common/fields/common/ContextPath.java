@@ -139,11 +139,22 @@ public class ContextPath extends StringField {
     public ListImpl add(ContextPath value) {
       // TODO: tbatie - 8/17/17 - Temporary work around, there should be SetField implemented here
       // instead
-      boolean match = elements.stream().anyMatch(path -> path.getValue().equals(value.getValue()));
-      if (!match) {
+      if (!contains(value)) {
         super.add(value);
       }
       return this;
     }
+
+    @Override
+    public ListImpl adopt(ContextPath value) {
+      if (!contains(value)) {
+        super.adopt(value);
+      }
+      return this;
+    }
+
+    private boolean contains(ContextPath value) {
+      return elements.stream().anyMatch(path -> path.getValue().equals(value.getValue()));
+    }
   }
 }
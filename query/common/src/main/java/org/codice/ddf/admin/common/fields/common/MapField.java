@@ -18,11 +18,15 @@ import static org.codice.ddf.admin.common.report.message.DefaultMessages.duplica
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
@@ -39,9 +43,16 @@ public class MapField extends BaseObjectField {
 
   private PairField.ListImpl entries;
 
+  /** The first entry of each key, in insertion order. */
+  private Map<String, PairField> keyIndex;
+
+  /** The number of entries of each value, only built once a value is looked up. */
+  private Map<String, Integer> valueCounts;
+
   public MapField() {
     super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
     entries = new PairField.ListImpl();
+    keyIndex = new LinkedHashMap<>();
   }
 
   @Override
@@ -49,30 +60,46 @@ public class MapField extends BaseObjectField {
     return ImmutableList.of(entries);
   }
 
+  @Override
+  public void setValue(Map<String, Object> values) {
+    super.setValue(values);
+    reindex();
+  }
+
   public MapField put(String key, String value) {
-    if (containsKey(key)) {
-      entries
-          .getList()
-          .stream()
-          .filter(p -> p.key().equals(key))
-          .findFirst()
-          .ifPresent(pair -> pair.value(value));
+    PairField pair = keyIndex.get(key);
+    if (pair != null) {
+      countValue(pair.value(), -1);
+      pair.value(value);
     } else {
-      entries.add(new PairField().key(key).value(value));
+      pair = new PairField().key(key).value(value);
+      entries.adopt(pair);
+      keyIndex.put(key, pair);
     }
+    countValue(value, 1);
     return this;
   }
 
   public boolean containsValue(String value) {
-    return entries.getList().stream().anyMatch(pair -> pair.value().equals(value));
+    if (valueCounts == null) {
+      valueCounts = new HashMap<>();
+      entries.getList().forEach(pair -> valueCounts.merge(pair.value(), 1, Integer::sum));
+    }
+    return valueCounts.containsKey(value);
   }
 
   public boolean containsKey(String key) {
-    return entries.getList().stream().anyMatch(pair -> pair.key().equals(key));
+    return keyIndex.containsKey(key);
   }
 
+  /**
+   * @param key key of the entry
+   * @return a copy of the entry of the key. Changing the copy does not change the map, values are
+   *     changed through {@link #put(String, String)}.
+   */
   public Optional<PairField> getEntry(String key) {
-    return entries.getList().stream().filter(entry -> entry.key().equals(key)).findFirst();
+    return Optional.ofNullable(keyIndex.get(key))
+        .map(pair -> new PairField().key(pair.key()).value(pair.value()));
   }
 
   public boolean isEmpty() {
@@ -86,22 +113,41 @@ public class MapField extends BaseObjectField {
       return validationMsgs;
     }
 
-    for (PairField toMatch : entries.getList()) {
-      List<PairField> duplicatePairs =
-          entries
-              .getList()
-              .stream()
-              .filter(pair -> pair.key().equals(toMatch.key()))
-              .collect(Collectors.toList());
-
-      if (duplicatePairs.size() > 1) {
-        validationMsgs.add(duplicateMapKeyError(duplicatePairs.get(1).getPath()));
-        break;
+    Set<String> keys = new HashSet<>();
+    Map<String, PairField> duplicates = new HashMap<>();
+    for (PairField pair : entries.getList()) {
+      if (!keys.add(pair.key())) {
+        duplicates.putIfAbsent(pair.key(), pair);
       }
     }
+
+    entries
+        .getList()
+        .stream()
+        .map(pair -> duplicates.get(pair.key()))
+        .filter(Objects::nonNull)
+        .findFirst()
+        .ifPresent(duplicate -> validationMsgs.add(duplicateMapKeyError(duplicate.getPath())));
     return validationMsgs;
   }
 
+  private void reindex() {
+    keyIndex.clear();
+    entries.getList().forEach(pair -> keyIndex.putIfAbsent(pair.key(), pair));
+    valueCounts = null;
+  }
+
+  private void countValue(String value, int delta) {
+    if (valueCounts != null) {
+      valueCounts.compute(
+          value,
+          (v, count) -> {
+            int updated = (count == null ? 0 : count) + delta;
+            return updated > 0 ? updated : null;
+          });
+    }
+  }
+
   @Override
   public Set<String> getErrorCodes() {
     return new ImmutableSet.Builder<String>()
@@ -128,5 +174,11 @@ public class MapField extends BaseObjectField {
       super.addAll(values);
       return this;
     }
+
+    @Override
+    public ListImpl addAllOwned(Collection<MapField> values) {
+      super.addAllOwned(values);
+      return this;
+    }
   }
 }
@@ -13,7 +13,12 @@
  */
 package org.codice.ddf.admin.common.poller;
 
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.api.poller.EnumValuePoller;
+import org.codice.ddf.admin.common.fields.base.EnumValueIndex;
 import org.codice.ddf.admin.common.services.ServiceCommons;
 
 public abstract class BaseEnumValuePoller<V, T> implements EnumValuePoller<V, T> {
@@ -22,13 +27,55 @@ public abstract class BaseEnumValuePoller<V, T> implements EnumValuePoller<V, T>
 
   private static final String UNBINDING_ENUM_VALUE = "Unbinding enum value for %s";
 
+  // Replaced by a new empty generation on every invalidation, so that an index built from the
+  // services before they changed cannot be published after the invalidation
+  private final AtomicReference<Generation<T>> generation =
+      new AtomicReference<>(new Generation<>(null));
+
+  /** @return the enum values of the currently bound services */
+  protected abstract List<EnumValue<T>> createEnumValues();
+
+  /** The enum values are only recreated after the bound services change. */
+  @Override
+  public List<EnumValue<T>> getEnumValues() {
+    return getEnumValueIndex().getEnumValues();
+  }
+
+  /** @return lookup of the enum values, which is only rebuilt after the bound services change */
+  public EnumValueIndex<T> getEnumValueIndex() {
+    Generation<T> current = generation.get();
+    if (current.enumValueIndex != null) {
+      return current.enumValueIndex;
+    }
+
+    EnumValueIndex<T> index = EnumValueIndex.of(ImmutableList.copyOf(createEnumValues()));
+    generation.compareAndSet(current, new Generation<>(index));
+    return index;
+  }
+
+  /** Drops the enum values so that they are recreated the next time they are requested. */
+  protected void invalidateEnumValues() {
+    generation.set(new Generation<>(null));
+  }
+
   @Override
   public void bindValue(V value) {
+    invalidateEnumValues();
     ServiceCommons.updateGraphQLSchema(getClass(), String.format(BINDING_ENUM_VALUE, getClass()));
   }
 
   @Override
   public void unbindValue(V value) {
+    invalidateEnumValues();
     ServiceCommons.updateGraphQLSchema(getClass(), String.format(UNBINDING_ENUM_VALUE, getClass()));
   }
+
+  private static class Generation<T> {
+
+    private final EnumValueIndex<T> enumValueIndex;
+
+    private Generation(EnumValueIndex<T> enumValueIndex) {
+      this.enumValueIndex = enumValueIndex;
+    }
+  }
 }
@@ -152,6 +152,39 @@ class PrioritizedBatchExecutorSpec extends Specification {
         !result.isPresent()
     }
 
+    def 'No result returned once the request is cancelled'() {
+        setup:
+        def cancellation = new CancellationToken(TimeUnit.MINUTES.toMillis(1))
+        def taskList = [[createTask(EXPECTED_RESULT, 5000)], [createTask(EXPECTED_RESULT)]]
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(2, taskList, createTaskHandler([EXPECTED_RESULT]))
+        Thread.start {
+            sleep(100)
+            cancellation.cancel()
+        }
+
+        when:
+        def start = System.currentTimeMillis()
+        def result = Cancellations.runWith(cancellation, { prioritizedBatchExecutor.getFirst(10, TimeUnit.SECONDS) })
+
+        then:
+        !result.isPresent()
+        System.currentTimeMillis() - start < 5000
+    }
+
+    def 'Wait time is bounded by the deadline of the request'() {
+        setup:
+        def taskList = [[createTask(EXPECTED_RESULT, 5000)]]
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(1, taskList, createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def start = System.currentTimeMillis()
+        def result = Cancellations.runWith(new CancellationToken(100), { prioritizedBatchExecutor.getFirst(10, TimeUnit.SECONDS) })
+
+        then:
+        !result.isPresent()
+        System.currentTimeMillis() - start < 5000
+    }
+
     def 'IllegalArgumentException when batch wait time is negative'() {
         setup:
         def taskResults = [[NOT_EXPECTED_RESULT, NOT_EXPECTED_RESULT]]
@@ -53,6 +53,33 @@ class BaseEnumFieldTest extends Specification {
         validationMsgs.get(0).getPath() == FIELD_PATH
     }
 
+    def 'Enum values and error codes are shared between instances'() {
+        when:
+        def other = new TestEnumField()
+
+        then:
+        other.getEnumValues().is(enumField.getEnumValues())
+        other.getErrorCodes().is(enumField.getErrorCodes())
+    }
+
+    def 'Values are matched to the supported values regardless of case'() {
+        when:
+        enumField.setValue(TestEnumField.EnumA.ENUM_A.toLowerCase())
+
+        then:
+        enumField.getValue() == TestEnumField.EnumA.ENUM_A
+        enumField.validate().isEmpty()
+    }
+
+    def 'The enum value index is shared between instances'() {
+        when:
+        def other = new TestEnumField()
+
+        then:
+        other.getEnumValueIndex().is(enumField.getEnumValueIndex())
+        other.getEnumValueIndex().indexes(other.getEnumValues())
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         Field invalidEnumField = new TestEnumField()
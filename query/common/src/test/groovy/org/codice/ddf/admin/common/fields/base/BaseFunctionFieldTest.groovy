@@ -15,7 +15,11 @@ package org.codice.ddf.admin.common.fields.base
 
 import com.google.common.collect.ImmutableSet
 import org.codice.ddf.admin.api.Field
+import org.codice.ddf.admin.api.fields.Cancellation
+import org.codice.ddf.admin.api.fields.FieldSelection
 import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.CancellationToken
+import org.codice.ddf.admin.common.Cancellations
 import org.codice.ddf.admin.common.fields.base.scalar.StringField
 import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
@@ -95,6 +99,37 @@ class BaseFunctionFieldTest extends Specification {
         errorCodes.containsAll(functionError)
     }
 
+    def 'Error codes and description are computed once per function'() {
+        when:
+        def other = new TestBaseFunctionField()
+
+        then:
+        other.getErrorCodes().is(functionField.getErrorCodes())
+        other.getDescription().is(functionField.getDescription())
+        functionField.getDescription().contains(TestBaseFunctionField.FUNCTION_TEST_ERROR)
+    }
+
+    def 'Function is performed with the cancellation of its caller until cancelled'() {
+        setup:
+        def cancellation = new CancellationToken(60000)
+        def cancelledToken = new CancellationToken(60000)
+        cancelledToken.cancel()
+        def cancelledFunction = new TestBaseFunctionField()
+        functionField.failValidation(false)
+        cancelledFunction.failValidation(false)
+
+        when:
+        def report = functionField.execute(null, FUNCTION_PATH, FieldSelection.ALL, cancellation)
+        def cancelledReport = cancelledFunction.execute(null, FUNCTION_PATH, FieldSelection.ALL, cancelledToken)
+
+        then:
+        report.isResultPresent()
+        functionField.performedWith.is(cancellation)
+        !cancelledReport.isResultPresent()
+        cancelledFunction.performedWith == null
+        Cancellations.current().is(Cancellation.NONE)
+    }
+
     class TestBaseFunctionField extends BaseFunctionField<StringField> {
 
         static String DEFAULT_FIELD_NAME = 'testBaseFunctionField'
@@ -109,6 +144,8 @@ class BaseFunctionFieldTest extends Specification {
 
         TestObjectField testObjectField
 
+        Cancellation performedWith
+
         TestBaseFunctionField() {
             this(DEFAULT_FIELD_NAME)
         }
@@ -144,6 +181,7 @@ class BaseFunctionFieldTest extends Specification {
 
         @Override
         StringField performFunction() {
+            performedWith = Cancellations.current()
             return new StringField('result')
         }
 
@@ -65,6 +65,31 @@ class BaseListFieldTest extends Specification {
         subFieldOfInnerObjectFieldPath == [innerObjectFieldPath, TestObjectField.SUB_FIELD_OF_INNER_FIELD_NAME].flatten()
     }
 
+    def 'Paths of nested fields follow later changes to the ListFields path'() {
+        setup:
+        TestObjectField.ListImpl listField = new TestObjectField.ListImpl()
+        listField.add(new TestObjectField())
+        listField.setPath(LIST_FIELD_PATH)
+        def objectField = listField.getList()[0]
+        def innerObjectField = objectField.getFields().find {
+            (it.getFieldName() == TestObjectField.INNER_OBJECT_FIELD_NAME)
+        }
+
+        when:
+        listField.setPath(['newPath'])
+
+        then:
+        objectField.getPath() == ['newPath', 0]
+        innerObjectField.getPath() == ['newPath', 0, TestObjectField.INNER_OBJECT_FIELD_NAME]
+
+        when:
+        objectField.setPath(['detached'])
+
+        then:
+        innerObjectField.getPath() == ['detached', TestObjectField.INNER_OBJECT_FIELD_NAME]
+        listField.getPath() == ['newPath']
+    }
+
     def 'Newly added required elements match the requirement of the ListFields field type'() {
         setup:
         listField.useDefaultRequired()
@@ -131,6 +156,27 @@ class BaseListFieldTest extends Specification {
         listField.getList()[1].getPath() == [TEST_LIST_FIELD_NAME, 1]
     }
 
+    def 'Adopted fields are added to the list without being copied'() {
+        setup:
+        def first = new StringField()
+        first.setValue('string1')
+        def second = new StringField()
+        second.setValue('string2')
+        def third = new StringField()
+        third.setValue('string3')
+
+        when:
+        listField.expectedSize(3).adopt(first).addAllOwned([second, third])
+        listField.setPath(LIST_FIELD_PATH)
+
+        then:
+        listField.getList()[0].is(first)
+        listField.getList()[1].is(second)
+        listField.getList()[2].is(third)
+        listField.getValue() == ['string1', 'string2', 'string3']
+        third.getPath() == [TEST_LIST_FIELD_NAME, 2]
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         def emptyFieldElement = new StringField('emptyFieldElement')
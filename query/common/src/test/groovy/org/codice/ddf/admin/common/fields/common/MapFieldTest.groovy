@@ -84,6 +84,61 @@ class MapFieldTest extends Specification {
         validationMsgs.get(0).getPath() == [MapField.DEFAULT_FIELD_NAME, ENTRIES, 2]
     }
 
+    def 'Reports the second entry of the first duplicated key'() {
+        setup:
+        def value = [(ENTRIES): [
+                createEntry('key1', 'value1'),
+                createEntry('key2', 'value2'),
+                createEntry('key2', 'value3'),
+                createEntry('key1', 'value4')
+        ]]
+        mapField.setValue(value)
+        mapField.setPath(MAP_FIELD_PATH)
+
+        when:
+        List<ErrorMessage> validationMsgs = mapField.validate()
+
+        then:
+        validationMsgs.size() == 1
+        validationMsgs.get(0).getPath() == [MapField.DEFAULT_FIELD_NAME, ENTRIES, 3]
+    }
+
+    def 'Lookups reflect entries that were set as a value'() {
+        when:
+        mapField.containsValue('value3')
+        mapField.setValue([(ENTRIES): [createEntry('key2', 'value2'), createEntry('key2', 'value3')]])
+
+        then:
+        mapField.containsKey('key2')
+        mapField.containsValue('value3')
+        mapField.getEntry('key2').get().value() == 'value2'
+
+        when:
+        mapField.put('key2', 'value4')
+
+        then:
+        mapField.getEntry('key2').get().value() == 'value4'
+        !mapField.containsValue('value2')
+        mapField.containsValue('value3')
+        mapField.getValue() == [(ENTRIES): [createEntry('key2', 'value4'), createEntry('key2', 'value3')]]
+    }
+
+    def 'Changing a returned entry does not change the map'() {
+        setup:
+        mapField.put('key1', 'value1')
+        mapField.containsValue('value1')
+
+        when:
+        mapField.getEntry('key1').get().key('key2').value('value2')
+
+        then:
+        mapField.getEntry('key1').get().value() == 'value1'
+        !mapField.containsKey('key2')
+        mapField.containsValue('value1')
+        !mapField.containsValue('value2')
+        mapField.getValue() == [(ENTRIES): [createEntry('key1', 'value1')]]
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         def duplicateValue = [(ENTRIES): [createEntry('key1', 'value1'),
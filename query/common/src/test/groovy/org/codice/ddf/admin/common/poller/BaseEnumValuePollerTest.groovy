@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.poller
+
+import org.codice.ddf.admin.api.fields.EnumValue
+import org.codice.ddf.admin.common.fields.test.TestEnumField
+import spock.lang.Specification
+
+class BaseEnumValuePollerTest extends Specification {
+
+    List<EnumValue<String>> boundValues = [new TestEnumField.EnumA()]
+
+    int created
+
+    Closure onCreate = {}
+
+    BaseEnumValuePoller<Object, String> poller = new BaseEnumValuePoller<Object, String>() {
+        @Override
+        protected List<EnumValue<String>> createEnumValues() {
+            created++
+            def values = new ArrayList<>(boundValues)
+            onCreate()
+            values
+        }
+    }
+
+    def 'The enum values are only created again once invalidated'() {
+        when:
+        def first = poller.getEnumValueIndex()
+        def cached = poller.getEnumValueIndex()
+        poller.invalidateEnumValues()
+        def recreated = poller.getEnumValueIndex()
+
+        then:
+        cached.is(first)
+        !recreated.is(first)
+        created == 2
+    }
+
+    def 'An index built before an invalidation is not kept after it'() {
+        setup:
+        onCreate = {
+            // A service is bound while the values of the previous services are being indexed
+            onCreate = {}
+            boundValues << new TestEnumField.EnumB()
+            poller.invalidateEnumValues()
+        }
+
+        when:
+        def stale = poller.getEnumValues()
+        def current = poller.getEnumValues()
+
+        then:
+        stale*.getValue() == [TestEnumField.EnumA.ENUM_A]
+        current*.getValue() == [TestEnumField.EnumA.ENUM_A, TestEnumField.EnumB.ENUM_B]
+        created == 2
+    }
+}
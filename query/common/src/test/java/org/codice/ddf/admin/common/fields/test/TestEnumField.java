@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.common.fields.test;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -24,17 +25,15 @@ public class TestEnumField extends BaseEnumField<String> {
 
   public static final String DESCRIPTION = "Sample enum for testing purposes.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(new EnumA(), new EnumB());
+
   public TestEnumField() {
     this(null);
   }
 
   protected TestEnumField(EnumValue<String> enumValue) {
-    super(
-        DEFAULT_FIELD_NAME,
-        DEFAULT_FIELD_TYPE,
-        DESCRIPTION,
-        ImmutableList.of(new EnumA(), new EnumB()),
-        enumValue);
+    super(DEFAULT_FIELD_NAME, DEFAULT_FIELD_TYPE, DESCRIPTION, ENUM_VALUES, enumValue);
   }
 
   public static final class EnumA implements EnumValue<String> {
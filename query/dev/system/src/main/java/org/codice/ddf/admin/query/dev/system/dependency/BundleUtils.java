@@ -27,6 +27,7 @@ import org.apache.commons.lang.StringUtils;
 import org.apache.felix.utils.manifest.Clause;
 import org.apache.felix.utils.manifest.Parser;
 import org.apache.karaf.bundle.core.BundleService;
+import org.codice.ddf.admin.api.fields.FieldSelection;
 import org.codice.ddf.admin.query.dev.system.discover.GetBundles;
 import org.codice.ddf.admin.query.dev.system.fields.BundleField;
 import org.codice.ddf.admin.query.dev.system.fields.PackageField;
@@ -64,6 +65,25 @@ public class BundleUtils {
   }
 
   public List<BundleField> getBundles(List<Integer> bundleIds) {
+    return getBundles(bundleIds, FieldSelection.ALL);
+  }
+
+  /**
+   * Looking up the packages and services of the bundles is by far the most expensive part, so they
+   * are only looked up if they are part of the selection.
+   *
+   * @param bundleIds ids of the bundles to return, or null or empty for all the bundles
+   * @param selection fields of the bundles to populate
+   */
+  public List<BundleField> getBundles(List<Integer> bundleIds, FieldSelection selection) {
+    boolean includePackages =
+        selection.contains(BundleField.EXPORTED_PKGS)
+            || selection.contains(BundleField.IMPORTED_PKGS);
+    boolean includeServices =
+        selection.contains(ServiceField.ListImpl.DEFAULT_FIELD_NAME)
+            || selection.contains(ServiceReferenceField.ListImpl.DEFAULT_FIELD_NAME)
+            || selection.contains(ServiceReferenceListField.ListImpl.DEFAULT_FIELD_NAME);
+
     List<BundleField> bundlesFields = new ArrayList<>();
     List<Bundle> bundles = getAllBundles();
 
@@ -83,8 +103,12 @@ public class BundleUtils {
               .location(bundle.getLocation())
               .state(bundle.getState());
 
-      populatePackages(bundle, newBundleField);
-      populateServices(bundle, newBundleField);
+      if (includePackages) {
+        populatePackages(bundle, newBundleField);
+      }
+      if (includeServices) {
+        populateServices(bundle, newBundleField);
+      }
       bundlesFields.add(newBundleField);
     }
 
@@ -22,6 +22,7 @@ import org.apache.karaf.features.BundleInfo;
 import org.apache.karaf.features.Dependency;
 import org.apache.karaf.features.Feature;
 import org.apache.karaf.features.FeaturesService;
+import org.codice.ddf.admin.api.fields.FieldSelection;
 import org.codice.ddf.admin.query.dev.system.fields.BundleField;
 import org.codice.ddf.admin.query.dev.system.fields.FeatureField;
 import org.slf4j.Logger;
@@ -40,11 +41,21 @@ public class FeatureUtils {
   }
 
   public List<FeatureField> getAllFeatures() {
+    return getAllFeatures(FieldSelection.ALL);
+  }
+
+  /**
+   * @param selection fields of the features to populate. The bundles are only looked up if the
+   *     bundle dependencies are part of the selection.
+   */
+  public List<FeatureField> getAllFeatures(FieldSelection selection) {
     Map<String, BundleField> allBundlesByLocation =
-        bundleUtils
-            .getAllBundleFields()
-            .stream()
-            .collect(Collectors.toMap(BundleField::location, bundle -> bundle));
+        selection.contains(FeatureField.BUNDLE_DEPS)
+            ? bundleUtils
+                .getBundles(null, selection.getSelection(FeatureField.BUNDLE_DEPS))
+                .stream()
+                .collect(Collectors.toMap(BundleField::location, bundle -> bundle))
+            : Collections.emptyMap();
 
     try {
       return Arrays.stream(featuresService.listFeatures())
@@ -48,12 +48,8 @@ public class GetBundles extends BaseFunctionField<ListField<BundleField>> {
 
   @Override
   public ListField<BundleField> performFunction() {
-    if (bundleIds.getList().isEmpty()) {
-      return new BundleField.ListImpl().addAll(bundleUtils.getAllBundleFields());
-    } else {
-      List<BundleField> bundles = bundleUtils.getBundles(bundleIds.getValue());
-      return new BundleField.ListImpl().addAll(bundles);
-    }
+    List<Integer> ids = bundleIds.getList().isEmpty() ? null : bundleIds.getValue();
+    return new BundleField.ListImpl().addAllOwned(bundleUtils.getBundles(ids, getSelection()));
   }
 
   @Override
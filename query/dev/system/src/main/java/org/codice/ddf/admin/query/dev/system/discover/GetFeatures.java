@@ -38,7 +38,7 @@ public class GetFeatures extends GetFunctionField<ListField<FeatureField>> {
 
   @Override
   public ListField<FeatureField> performFunction() {
-    return new FeatureField.ListImpl().addAll(featureUtils.getAllFeatures());
+    return new FeatureField.ListImpl().addAllOwned(featureUtils.getAllFeatures(getSelection()));
   }
 
   @Override
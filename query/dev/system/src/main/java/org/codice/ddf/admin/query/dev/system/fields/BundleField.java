@@ -92,27 +92,27 @@ public class BundleField extends BaseObjectField {
   }
 
   public BundleField addService(ServiceField ref) {
-    services.add(ref);
+    services.adopt(ref);
     return this;
   }
 
   public BundleField addServiceRef(ServiceReferenceField ref) {
-    refs.add(ref);
+    refs.adopt(ref);
     return this;
   }
 
   public BundleField addServiceRefList(ServiceReferenceListField refList) {
-    refLists.add(refList);
+    refLists.adopt(refList);
     return this;
   }
 
   public BundleField addExportedPackage(PackageField importedPkg) {
-    exportedPkgs.add(importedPkg);
+    exportedPkgs.adopt(importedPkg);
     return this;
   }
 
   public BundleField addImportedPackage(PackageField importedPkg) {
-    importedPkgs.add(importedPkg);
+    importedPkgs.adopt(importedPkg);
     return this;
   }
 
@@ -69,7 +69,7 @@ public class ServiceReferenceListField extends BaseObjectField {
   }
 
   public ServiceReferenceListField addService(ServiceField serviceField) {
-    services.add(serviceField);
+    services.adopt(serviceField);
     return this;
   }
 
@@ -13,6 +13,7 @@
  */
 package org.codice.ddf.admin.query.dev.system
 
+import org.codice.ddf.admin.api.fields.FieldSelection
 import org.codice.ddf.admin.api.fields.ListField
 import org.codice.ddf.admin.api.report.Report
 import org.codice.ddf.admin.query.dev.system.dependency.BundleUtils
@@ -33,7 +34,7 @@ class GetBundlesTest extends Specification {
         def bundleA = SampleData.bundleA()
         def bundleB = SampleData.bundleB()
         def bundleC = SampleData.bundleC()
-        bundleUtils.getAllBundleFields() >> [bundleA, bundleB, bundleC]
+        bundleUtils.getBundles(null, FieldSelection.ALL) >> [bundleA, bundleB, bundleC]
 
         when:
         Report report = new GetBundles(bundleUtils).execute([:], [])
@@ -51,6 +52,17 @@ class GetBundlesTest extends Specification {
 
         then:
         report.getResult().getValue().isEmpty()
-        1 * bundleUtils.getBundles(bundlesIds) >> []
+        1 * bundleUtils.getBundles(bundlesIds, FieldSelection.ALL) >> []
+    }
+
+    def "Only the selected bundle fields are requested"() {
+        setup:
+        def selection = Mock(FieldSelection)
+
+        when:
+        new GetBundles(bundleUtils).execute([:], [GetBundles.FIELD_NAME], selection)
+
+        then:
+        1 * bundleUtils.getBundles(null, selection) >> []
     }
 }
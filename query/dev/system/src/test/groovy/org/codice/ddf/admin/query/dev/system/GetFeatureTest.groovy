@@ -13,6 +13,7 @@
  */
 package org.codice.ddf.admin.query.dev.system
 
+import org.codice.ddf.admin.api.fields.FieldSelection
 import org.codice.ddf.admin.api.report.Report
 import org.codice.ddf.admin.query.dev.system.dependency.FeatureUtils
 import org.codice.ddf.admin.query.dev.system.discover.GetFeatures
@@ -26,7 +27,7 @@ class GetFeatureTest extends Specification {
         def featureA = SampleData.featureA()
         def featureB = SampleData.featureB()
         def featureC = SampleData.featureC()
-        featureUtils.getAllFeatures() >> [featureA, featureB, featureC]
+        featureUtils.getAllFeatures(FieldSelection.ALL) >> [featureA, featureB, featureC]
 
         when:
         Report report = new GetFeatures(featureUtils).execute(null, null)
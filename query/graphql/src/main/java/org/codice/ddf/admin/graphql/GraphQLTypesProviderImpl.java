@@ -13,11 +13,13 @@
  */
 package org.codice.ddf.admin.graphql;
 
+import graphql.schema.GraphQLModifiedType;
 import graphql.schema.GraphQLType;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLTypesProvider {
@@ -39,6 +41,22 @@ public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLT
     }
   }
 
+  /**
+   * Adds the type unless a type was already added under the same name. Concurrent transformations
+   * that build the same type use the returned type so that the schema only contains one instance of
+   * it.
+   *
+   * @return the type added under the name
+   */
+  public T addTypeIfAbsent(String typeName, T type) {
+    if (typeName == null || type == null) {
+      return type;
+    }
+
+    T existing = types.putIfAbsent(typeName, type);
+    return existing == null ? type : existing;
+  }
+
   public boolean isTypePresent(String typeName) {
     return typeName != null && types.containsKey(typeName);
   }
@@ -46,4 +64,20 @@ public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLT
   public T getType(String typeName) {
     return types.get(typeName);
   }
+
+  /**
+   * Removes the types whose GraphQL name, ignoring list and non null wrappers, is one of the given
+   * names.
+   */
+  public void removeTypes(Set<String> graphQLTypeNames) {
+    types.values().removeIf(type -> graphQLTypeNames.contains(getUnwrappedName(type)));
+  }
+
+  private static String getUnwrappedName(GraphQLType type) {
+    GraphQLType unwrapped = type;
+    while (unwrapped instanceof GraphQLModifiedType) {
+      unwrapped = ((GraphQLModifiedType) unwrapped).getWrappedType();
+    }
+    return unwrapped.getName();
+  }
 }
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.net.HttpHeaders;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Compresses a response body as it is written. The first bytes are held back until more than the
+ * threshold has been written, so that small responses are sent uncompressed. Once past the
+ * threshold, the held back bytes and everything after them are compressed straight to the response
+ * stream.
+ *
+ * <p>Flushing only flushes the compressed stream once compression started. Before that, the bytes
+ * stay held back so that the decision to compress is not made on a partial response.
+ *
+ * <p>Closing this stream finishes the compressed body but does not close the response stream, which
+ * remains the responsibility of the servlet container.
+ */
+public class CompressingOutputStream extends OutputStream {
+
+  public static final String GZIP = "gzip";
+
+  public static final String DEFLATE = "deflate";
+
+  private static final int COMPRESSION_BUFFER_SIZE = 8192;
+
+  private final HttpServletResponse response;
+
+  private final String encoding;
+
+  private final byte[] heldBack;
+
+  private int heldBackCount;
+
+  private OutputStream out;
+
+  private boolean closed;
+
+  /**
+   * @param response response to write the body of
+   * @param encoding either {@link #GZIP} or {@link #DEFLATE}
+   * @param threshold number of bytes up to which the body is not compressed
+   */
+  public CompressingOutputStream(HttpServletResponse response, String encoding, int threshold) {
+    this.response = response;
+    this.encoding = encoding;
+    this.heldBack = new byte[threshold];
+  }
+
+  /**
+   * Picks the encoding to compress a response with from the {@code Accept-Encoding} header of the
+   * request. Gzip is preferred over deflate when both are equally acceptable.
+   *
+   * @param acceptEncoding value of the {@code Accept-Encoding} header, may be null
+   * @return the encoding, or empty if the client does not accept a compressed response
+   */
+  public static Optional<String> negotiate(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return Optional.empty();
+    }
+
+    float gzipQuality = -1;
+    float deflateQuality = -1;
+    float wildcardQuality = 0;
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parameters = coding.split(";");
+      String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+      if (GZIP.equals(name)) {
+        gzipQuality = quality(parameters);
+      } else if (DEFLATE.equals(name)) {
+        deflateQuality = quality(parameters);
+      } else if ("*".equals(name)) {
+        wildcardQuality = quality(parameters);
+      }
+    }
+
+    // Encodings that are not listed are as acceptable as the wildcard
+    gzipQuality = gzipQuality < 0 ? wildcardQuality : gzipQuality;
+    deflateQuality = deflateQuality < 0 ? wildcardQuality : deflateQuality;
+
+    if (gzipQuality > 0 && gzipQuality >= deflateQuality) {
+      return Optional.of(GZIP);
+    }
+    return deflateQuality > 0 ? Optional.of(DEFLATE) : Optional.empty();
+  }
+
+  private static float quality(String[] parameters) {
+    for (int i = 1; i < parameters.length; i++) {
+      String parameter = parameters[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Float.parseFloat(parameter.substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    write(new byte[] {(byte) b}, 0, 1);
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed.");
+    }
+
+    if (out == null && heldBackCount + len <= heldBack.length) {
+      System.arraycopy(b, off, heldBack, heldBackCount, len);
+      heldBackCount += len;
+      return;
+    }
+
+    if (out == null) {
+      startCompression();
+    }
+    out.write(b, off, len);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (out != null) {
+      out.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+
+    if (out == null) {
+      response.setContentLength(heldBackCount);
+      OutputStream responseStream = response.getOutputStream();
+      responseStream.write(heldBack, 0, heldBackCount);
+      responseStream.flush();
+    } else {
+      // Finishes the compressed body and releases the compressor
+      out.close();
+    }
+  }
+
+  private void startCompression() throws IOException {
+    response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+
+    OutputStream responseStream = new NonClosingOutputStream(response.getOutputStream());
+    // Sync flush so that flushing sends the results written so far to the client
+    out =
+        GZIP.equals(encoding)
+            ? new GZIPOutputStream(responseStream, COMPRESSION_BUFFER_SIZE, true)
+            : new DeflaterOutputStream(responseStream, true);
+    out.write(heldBack, 0, heldBackCount);
+  }
+
+  private static class NonClosingOutputStream extends FilterOutputStream {
+
+    NonClosingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+      flush();
+    }
+  }
+}
@@ -13,46 +13,95 @@
  */
 package org.codice.ddf.admin.graphql.servlet;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalNotification;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.net.HttpHeaders;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
 import graphql.GraphQLError;
 import graphql.execution.AsyncExecutionStrategy;
+import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.DataFetcherExceptionHandlerParameters;
+import graphql.execution.ExecutionContext;
 import graphql.execution.ExecutionPath;
 import graphql.execution.ExecutionStrategy;
+import graphql.execution.ExecutionStrategyParameters;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.introspection.IntrospectionQuery;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
 import graphql.servlet.DefaultGraphQLErrorHandler;
+import graphql.servlet.DefaultGraphQLSchemaProvider;
 import graphql.servlet.ExecutionStrategyProvider;
+import graphql.servlet.GraphQLContext;
 import graphql.servlet.GraphQLErrorHandler;
 import graphql.servlet.GraphQLMutationProvider;
 import graphql.servlet.GraphQLProvider;
 import graphql.servlet.GraphQLQueryProvider;
+import graphql.servlet.GraphQLSchemaProvider;
 import graphql.servlet.OsgiGraphQLServlet;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import javax.security.auth.Subject;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.api.Events;
 import org.codice.ddf.admin.api.FieldProvider;
 import org.codice.ddf.admin.api.report.ErrorMessage;
-import org.codice.ddf.admin.graphql.servlet.request.DelegateRequest;
-import org.codice.ddf.admin.graphql.servlet.request.DelegateResponse;
+import org.codice.ddf.admin.common.CancellationToken;
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLRequestDecoder;
+import org.codice.ddf.admin.graphql.servlet.request.GraphQLRequestDecoder.DecodedRequest;
+import org.codice.ddf.admin.graphql.servlet.request.OperationRequest;
+import org.codice.ddf.admin.graphql.transform.FunctionDataFetcher;
 import org.codice.ddf.admin.graphql.transform.FunctionDataFetcherException;
+import org.codice.ddf.admin.graphql.transform.FunctionInvocationCache;
 import org.codice.ddf.admin.graphql.transform.GraphQLTransformCommons;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
@@ -63,25 +112,82 @@ import org.slf4j.LoggerFactory;
 public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements EventHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ExtendedOsgiGraphQLServlet.class);
-  private static final long CACHE_EXPIRATION_IN_SECONDS = 1;
-  private static final long CACHE_CLEANUP_INVOCATION_IN_SECONDS = 1;
+  private static final long DEFAULT_SCHEMA_REFRESH_DELAY_IN_MILLIS = 1000;
+  private static final long SCHEMA_REFRESH_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+  private static final long DEFAULT_SCHEMA_SNAPSHOT_WARMUP_IN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+  private static final String GET_QUERY_PARAMETER = "query";
+  private static final String GET_OPERATION_NAME_PARAMETER = "operationName";
+  private static final String GET_VARIABLES_PARAMETER = "variables";
+  private static final String SCHEMA_JSON_PATH = "/schema.json";
+  private static final String INTROSPECTION_OPERATION_NAME = "IntrospectionQuery";
 
   private static final String BINDING_FIELD_PROVIDER = "GraphQL servlet binding field provider %s";
   private static final String UNBINDING_FIELD_PROVIDER =
       "GraphQL servlet unbinding field provider %s";
 
-  private Cache<String, Object> cache;
-  private ScheduledExecutorService scheduler;
+  private ScheduledThreadPoolExecutor schemaRefreshExecutor;
+  private AtomicBoolean schemaRefreshPending;
+  private long schemaRefreshDelayMillis;
+  private AtomicReference<GraphQLSchemaProvider> schemaSnapshot;
+  private ForkJoinPool schemaTransformPool;
+  private SchemaSnapshotStore schemaSnapshotStore;
+  private SchemaSnapshotStore.Snapshot warmupSnapshot;
+  private long warmupDeadlineMillis;
+  private long schemaSnapshotWarmupMillis;
+  private ThreadPoolExecutor batchExecutor;
+  private boolean concurrentBatchExecution;
+  private ThreadPoolExecutor asyncExecutor;
+  private boolean asyncExecution;
   private List<FieldProvider> fieldProviders;
-  private List<GraphQLProviderImpl> transformedProviders;
-  private ExecutionStrategyProvider execStrategy;
+  private Map<FieldProvider, GraphQLProviderImpl> transformedProviders;
+
+  private GraphQLTransformCommons transformer;
+  private volatile ExecutionStrategyProvider execStrategy;
+  private ResolverExecutors resolverExecutors;
   private GraphQLErrorHandler errorHandler;
+  private GraphQLRequestDecoder requestDecoder;
+  private PreparsedDocumentCache documentCache;
+  private QueryAdmission admission;
+  private IntrospectionResultCache introspectionCache;
+  private int compressionThreshold;
   private GraphQLQueryProvider errorCodeProvider;
+  private long requestTimeoutMillis;
 
   private static final int MAX_REQUEST_SIZE = 1_000_000;
 
   private static final int MAX_QUERY_SIZE = 10;
 
+  private static final int DEFAULT_BATCH_THREAD_POOL_SIZE = MAX_QUERY_SIZE;
+
+  private static final long BATCH_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+  private static final long DOCUMENT_CACHE_SIZE = 256;
+
+  private static final int DEFAULT_ASYNC_THREAD_POOL_SIZE = 10;
+
+  private static final int ASYNC_QUEUE_SIZE = 100;
+
+  private static final long ASYNC_THREAD_KEEP_ALIVE_IN_SECONDS = 60;
+
+  // Roughly the size below which compression saves less than the overhead it adds
+  private static final int DEFAULT_COMPRESSION_THRESHOLD_IN_BYTES = 1024;
+
+  // Long enough for the functions waiting up to a minute on the probes of a source
+  private static final long DEFAULT_REQUEST_TIMEOUT_IN_MILLIS = TimeUnit.MINUTES.toMillis(2);
+
+  // Time left to write the results of an async request once its functions were cancelled
+  private static final long ASYNC_TIMEOUT_GRACE_IN_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+  private static final Map<String, Object> ASYNC_EXECUTOR_BUSY_RESULT =
+      createErrorResult("Too many requests are executing. Please try again later.");
+
+  private static final Map<String, Object> ASYNC_TIMEOUT_RESULT =
+      createErrorResult("The request timed out.");
+
+  private static final Map<String, Object> BATCH_ELEMENT_ERROR_RESULT =
+      createErrorResult("Internal error executing batched request.");
+
   public static final String INVALID_BATCH_SIZE_MSG =
       "Invalid batch request size. The batch request size must be an integer less than or equal to "
           + MAX_QUERY_SIZE;
@@ -94,30 +200,129 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
   public static final String MISSING_CONTENT_LENGTH_HEADER_MSG =
       "Content-Length header is required.";
 
+  /** Request header that, when {@code true}, adds the timings of the operations to the results. */
+  public static final String TRACING_HEADER = "X-GraphQL-Tracing";
+
+  public static final String QUERY_COST_BUDGET_EXCEEDED_MSG =
+      "Too many expensive requests are executing. Please try again later.";
+
+  public static final String ASYNC_EXECUTOR_BUSY_MSG =
+      "Too many requests are executing. Please try again later.";
+
   public ExtendedOsgiGraphQLServlet() {
     super();
-    cache =
-        CacheBuilder.newBuilder()
-            .expireAfterWrite(CACHE_EXPIRATION_IN_SECONDS, TimeUnit.SECONDS)
-            .removalListener(this::refreshSchemaOnExpire)
-            .build();
-
-    scheduler = Executors.newScheduledThreadPool(1);
-    scheduler.scheduleAtFixedRate(
-        () -> cache.cleanUp(),
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        TimeUnit.SECONDS);
+    // The refresh thread is only started when a refresh is requested and stops once idle
+    schemaRefreshExecutor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            new ThreadFactoryBuilder()
+                .setNameFormat("graphql-schema-refresh-%d")
+                .setDaemon(true)
+                .build());
+    schemaRefreshExecutor.setKeepAliveTime(
+        SCHEMA_REFRESH_THREAD_KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS);
+    schemaRefreshExecutor.allowCoreThreadTimeOut(true);
+    schemaRefreshPending = new AtomicBoolean(false);
+    schemaRefreshDelayMillis = DEFAULT_SCHEMA_REFRESH_DELAY_IN_MILLIS;
+    schemaSnapshotWarmupMillis = DEFAULT_SCHEMA_SNAPSHOT_WARMUP_IN_MILLIS;
+
+    // Idle workers of a fork join pool stop on their own, so the pool costs nothing between
+    // refreshes
+    schemaTransformPool =
+        new ForkJoinPool(
+            Runtime.getRuntime().availableProcessors(),
+            pool -> {
+              ForkJoinWorkerThread thread =
+                  ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+              thread.setName("graphql-schema-transform-" + thread.getPoolIndex());
+              return thread;
+            },
+            null,
+            false);
+
+    // Bounded pool and queue. Once saturated, the request thread executes the batch element itself
+    batchExecutor =
+        new ThreadPoolExecutor(
+            DEFAULT_BATCH_THREAD_POOL_SIZE,
+            DEFAULT_BATCH_THREAD_POOL_SIZE,
+            BATCH_THREAD_KEEP_ALIVE_IN_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(DEFAULT_BATCH_THREAD_POOL_SIZE * MAX_QUERY_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("graphql-batch-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    batchExecutor.allowCoreThreadTimeOut(true);
+    concurrentBatchExecution = true;
+
+    // Bounded so that slow requests cannot queue up indefinitely. Requests that do not fit are
+    // answered with an error instead of blocking a container thread.
+    asyncExecutor =
+        new ThreadPoolExecutor(
+            DEFAULT_ASYNC_THREAD_POOL_SIZE,
+            DEFAULT_ASYNC_THREAD_POOL_SIZE,
+            ASYNC_THREAD_KEEP_ALIVE_IN_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(ASYNC_QUEUE_SIZE),
+            new ThreadFactoryBuilder().setNameFormat("graphql-async-%d").setDaemon(true).build());
+    asyncExecutor.allowCoreThreadTimeOut(true);
+    asyncExecution = false;
 
     fieldProviders = new ArrayList<>();
-    transformedProviders = new ArrayList<>();
-    execStrategy = new ExecutionStrategyProviderImpl();
+    transformedProviders = new IdentityHashMap<>();
+    transformer = new GraphQLTransformCommons();
+    execStrategy = new ExecutionStrategyProviderImpl(null, null);
+    resolverExecutors =
+        new ResolverExecutors(
+            (queryExecutor, mutationExecutor) ->
+                execStrategy = new ExecutionStrategyProviderImpl(queryExecutor, mutationExecutor));
     errorHandler = new GraphQLErrorHandlerImpl();
+    requestDecoder = new GraphQLRequestDecoder(getMapper(), MAX_QUERY_SIZE);
+    documentCache = new PreparsedDocumentCache(DOCUMENT_CACHE_SIZE);
+    admission = new QueryAdmission(documentCache);
+    introspectionCache = new IntrospectionResultCache();
+    compressionThreshold = DEFAULT_COMPRESSION_THRESHOLD_IN_BYTES;
+    requestTimeoutMillis = DEFAULT_REQUEST_TIMEOUT_IN_MILLIS;
+    schemaSnapshot = new AtomicReference<>(createSchemaProvider(Collections.emptyList()));
+  }
+
+  /**
+   * Starts the resolver executors once all the properties are set and publishes the saved schema
+   * snapshot.
+   */
+  public void init() {
+    resolverExecutors.start();
+    loadSchemaSnapshot();
+  }
+
+  /**
+   * Publishes the schema saved by the previous run, if any, so that introspection is answered until
+   * the first field provider is bound or the snapshot warmup elapses.
+   */
+  public synchronized void loadSchemaSnapshot() {
+    if (schemaSnapshotStore == null || !transformedProviders.isEmpty()) {
+      return;
+    }
+
+    Optional<SchemaSnapshotStore.Snapshot> snapshot = schemaSnapshotStore.load();
+    if (!snapshot.isPresent()) {
+      return;
+    }
+
+    LOGGER.debug("Serving the GraphQL schema snapshot until a field provider is bound.");
+    warmupSnapshot = snapshot.get();
+    warmupDeadlineMillis = System.currentTimeMillis() + schemaSnapshotWarmupMillis;
+    schemaSnapshot.set(new DefaultGraphQLSchemaProvider(warmupSnapshot.getSchema()));
+    // Publishes the live schema even if some of the providers of the snapshot never come back
+    schemaRefreshExecutor.schedule(
+        this::refreshSchemaQuietly, schemaSnapshotWarmupMillis, TimeUnit.MILLISECONDS);
   }
 
   @Override
   public void destroy() {
-    scheduler.shutdownNow();
+    schemaRefreshExecutor.shutdownNow();
+    schemaTransformPool.shutdownNow();
+    batchExecutor.shutdownNow();
+    asyncExecutor.shutdownNow();
+    resolverExecutors.shutdown();
   }
 
   @Override
@@ -127,6 +332,15 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     }
   }
 
+  /**
+   * @return the most recently published schema. Requests keep executing against the schema they
+   *     started with while a newer schema is being built.
+   */
+  @Override
+  protected GraphQLSchemaProvider getSchemaProvider() {
+    return schemaSnapshot.get();
+  }
+
   @Override
   protected ExecutionStrategyProvider getExecutionStrategyProvider() {
     return execStrategy;
@@ -137,6 +351,94 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     return errorHandler;
   }
 
+  // None of the transformed types are backed by classes, so the variables can be passed through as
+  // they are instead of re-parsing the query to convert them
+  @Override
+  protected Map<String, Object> transformVariables(
+      GraphQLSchema schema, String query, Map<String, Object> variables) {
+    return variables;
+  }
+
+  @Override
+  protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+      throws ServletException, IOException {
+    // Functions stop once the request completes or its deadline passes
+    CancellationToken cancellation = new CancellationToken(requestTimeoutMillis);
+    req.setAttribute(
+        FunctionInvocationCache.REQUEST_ATTRIBUTE, new FunctionInvocationCache(cancellation));
+
+    try {
+      executeGet(req, resp);
+    } finally {
+      cancellation.cancel();
+    }
+  }
+
+  private void executeGet(HttpServletRequest req, HttpServletResponse resp)
+      throws ServletException, IOException {
+    String query = req.getParameter(GET_QUERY_PARAMETER);
+    String path = req.getPathInfo() == null ? req.getServletPath() : req.getPathInfo();
+    if (SCHEMA_JSON_PATH.equals(path)
+        || isIntrospectionRequest(
+            query,
+            req.getParameter(GET_OPERATION_NAME_PARAMETER),
+            readGetVariables(req.getParameter(GET_VARIABLES_PARAMETER)))) {
+      writeIntrospectionResult(req, resp, getSchemaProvider().getSchema(req));
+      return;
+    }
+
+    if (query == null) {
+      super.doGet(req, resp);
+      return;
+    }
+
+    OperationRequest operation = new OperationRequest();
+    operation.setQuery(query);
+    operation.setOperationName(req.getParameter(GET_OPERATION_NAME_PARAMETER));
+    operation.setVariables(readGetVariables(req.getParameter(GET_VARIABLES_PARAMETER)));
+
+    GraphQLSchema schema = getSchemaProvider().getSchema(req);
+    PreparedOperation prepared = admission.prepare(schema, operation, null);
+
+    Optional<QueryCostBudget.Permit> permit =
+        admission.acquire(Collections.singletonList(prepared));
+    if (!permit.isPresent()) {
+      writeErrorResponse(resp, 429, QUERY_COST_BUDGET_EXCEEDED_MSG);
+      return;
+    }
+
+    resp.setContentType(APPLICATION_JSON_UTF8);
+    resp.setStatus(STATUS_OK);
+    // Executed with the document it was prepared with, the same way as the operations of a POST
+    try (JsonGenerator generator = createGenerator(req, resp)) {
+      generator.writeObject(executeBatchElement(req, resp, schema, prepared));
+    } finally {
+      permit.get().release();
+    }
+  }
+
+  /** Responds with the {@code status} and an error result with the {@code message}. */
+  private void writeErrorResponse(HttpServletResponse response, int status, String message)
+      throws IOException {
+    response.setStatus(status);
+    response.setContentType(APPLICATION_JSON_UTF8);
+    response.getWriter().write(getMapper().writeValueAsString(createErrorResult(message)));
+  }
+
+  private Map<String, Object> readGetVariables(String variables) {
+    if (StringUtils.isBlank(variables)) {
+      return Collections.emptyMap();
+    }
+
+    try {
+      return getMapper().readValue(variables, Map.class);
+    } catch (IOException e) {
+      // The request fails once executed by the parent servlet
+      LOGGER.debug("Invalid GraphQL request variables.", e);
+      return Collections.emptyMap();
+    }
+  }
+
   @Override
   @SuppressWarnings({
     "squid:S1181" /* Catching throwable intentionally */,
@@ -167,30 +469,100 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     // TODO: tbatie - 6/9/17 - GraphQLServlet does not support batched requests even though a
     // BatchedExecutionStrategy exists. This should be fixed in the GraphQLServlet and contributed
     // back to graphql-java-servlet
-    List<String> responses = new ArrayList<>();
-    String originalReqContent = IOUtils.toString(originalRequest.getInputStream());
-    boolean isBatchRequest = isBatchRequest(originalReqContent);
-
     try {
-      List<String> splitReqs = splitQueries(originalReqContent);
+      DecodedRequest decodedRequest = requestDecoder.decode(originalRequest.getInputStream());
+      List<OperationRequest> operations = decodedRequest.getOperations();
 
-      if (splitReqs.size() > MAX_QUERY_SIZE) {
+      if (operations.size() > MAX_QUERY_SIZE) {
         originalResponse.getWriter().write(INVALID_BATCH_SIZE_MSG);
         originalResponse.setStatus(429);
         return;
       }
 
-      for (String reqStr : splitReqs) {
-        DelegateResponse response = new DelegateResponse(originalResponse);
-        super.doPost(new DelegateRequest(originalRequest, reqStr), response);
-        responses.add(response.getDelegatedResponse());
+      // All the operations of a request execute against the same schema snapshot
+      GraphQLSchema schema = getSchemaProvider().getSchema(originalRequest);
+      boolean tracing = isTracingRequested(originalRequest);
+
+      if (!decodedRequest.isBatch() && !tracing) {
+        OperationRequest operation = operations.get(0);
+        if (isIntrospectionRequest(
+            operation.getQuery(), operation.getOperationName(), operation.getVariables())) {
+          writeIntrospectionResult(originalRequest, originalResponse, schema);
+          return;
+        }
+      }
+
+      // Identical function invocations of the operations of a request execute once. The functions
+      // stop once the request completes, the client goes away or its deadline passes.
+      CancellationToken cancellation = new CancellationToken(requestTimeoutMillis);
+      originalRequest.setAttribute(
+          FunctionInvocationCache.REQUEST_ATTRIBUTE, new FunctionInvocationCache(cancellation));
+
+      List<PreparedOperation> prepared = new ArrayList<>(operations.size());
+      for (OperationRequest operation : operations) {
+        prepared.add(admission.prepare(schema, operation, tracing ? new OperationTracing() : null));
+      }
+
+      // Rejected before the response starts, since an operation that the async executor rejects
+      // later can only be answered with an error result
+      boolean async = asyncExecution && originalRequest.isAsyncSupported();
+      if (async && !hasAsyncCapacity(prepared.size())) {
+        cancellation.cancel();
+        writeErrorResponse(originalResponse, 429, ASYNC_EXECUTOR_BUSY_MSG);
+        return;
+      }
+
+      Optional<QueryCostBudget.Permit> permit = admission.acquire(prepared);
+      if (!permit.isPresent()) {
+        cancellation.cancel();
+        writeErrorResponse(originalResponse, 429, QUERY_COST_BUDGET_EXCEEDED_MSG);
+        return;
       }
 
       originalResponse.setContentType(APPLICATION_JSON_UTF8);
       originalResponse.setStatus(STATUS_OK);
-      originalResponse
-          .getWriter()
-          .write(isBatchRequest ? "[" + String.join(",", responses) + "]" : responses.get(0));
+
+      // Released here unless handed over to the async execution
+      boolean release = true;
+      try {
+        if (async) {
+          executeAsync(
+                  originalRequest, originalResponse, schema, decodedRequest, prepared, cancellation)
+              .whenComplete(
+                  (ignored, e) -> {
+                    permit.get().release();
+                    cancellation.cancel();
+                  });
+          release = false;
+          return;
+        }
+
+        // Each result is written as soon as it is available so that the response is never
+        // buffered
+        try (JsonGenerator generator = createGenerator(originalRequest, originalResponse)) {
+          if (decodedRequest.isBatch()) {
+            generator.writeStartArray();
+          }
+
+          if (concurrentBatchExecution && prepared.size() > 1) {
+            writeConcurrently(generator, originalRequest, originalResponse, schema, prepared);
+          } else {
+            for (PreparedOperation operation : prepared) {
+              generator.writeObject(
+                  executeBatchElement(originalRequest, originalResponse, schema, operation));
+            }
+          }
+
+          if (decodedRequest.isBatch()) {
+            generator.writeEndArray();
+          }
+        }
+      } finally {
+        if (release) {
+          permit.get().release();
+          cancellation.cancel();
+        }
+      }
     } catch (RuntimeException t) {
       originalResponse.setStatus(500);
     } catch (Throwable t) {
@@ -199,68 +571,502 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     }
   }
 
-  private List<String> splitQueries(String requestContent) throws IOException {
-    List<String> splitElements = new ArrayList<>();
-    JsonNode jsonNode = new ObjectMapper().readTree(requestContent);
-    if (jsonNode.isArray()) {
-      jsonNode.elements().forEachRemaining(node -> splitElements.add(node.toString()));
+  /**
+   * Returns whether the operation is the standard introspection query, whose result is served from
+   * the introspection result cache.
+   */
+  private static boolean isIntrospectionRequest(
+      String query, String operationName, Map<String, Object> variables) {
+    return (operationName == null || INTROSPECTION_OPERATION_NAME.equals(operationName))
+        && variables.isEmpty()
+        && IntrospectionResultCache.isIntrospectionQuery(query);
+  }
+
+  /**
+   * Writes the cached introspection result of the {@code schema}, or only its ETag with a 304
+   * status if the client already has it.
+   */
+  private void writeIntrospectionResult(
+      HttpServletRequest request, HttpServletResponse response, GraphQLSchema schema)
+      throws IOException {
+    IntrospectionResultCache.IntrospectionResult result =
+        introspectionCache.get(schema, this::introspect);
+
+    response.setHeader(HttpHeaders.ETAG, result.getETag());
+    // Clients may keep the result but must revalidate it since the schema can change at any time
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    if (result.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+      response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+      return;
+    }
+
+    response.setContentType(APPLICATION_JSON_UTF8);
+    response.setStatus(STATUS_OK);
+
+    Optional<CompressingOutputStream> compressed = openCompressingStream(request, response);
+    if (compressed.isPresent()) {
+      try (OutputStream out = compressed.get()) {
+        out.write(result.getBytes());
+      }
     } else {
-      splitElements.add(jsonNode.toString());
+      response.setContentLength(result.getBytes().length);
+      response.getOutputStream().write(result.getBytes());
     }
-    return splitElements;
   }
 
-  private boolean isBatchRequest(String requestContent) throws IOException {
-    return new ObjectMapper().readTree(requestContent).isArray();
+  private byte[] introspect(GraphQLSchema schema) {
+    ExecutionResult executionResult =
+        newGraphQL(schema, null, documentCache.forSchema(schema))
+            .execute(IntrospectionQuery.INTROSPECTION_QUERY);
+    try {
+      return getMapper().writeValueAsBytes(toResult(executionResult));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Unable to serialize the introspection result.", e);
+    }
   }
 
-  private void triggerSchemaRefresh(String refreshReason) {
-    LOGGER.trace("GraphQL schema refresh requested. Cause: {}", refreshReason);
-    cache.put(Events.REFRESH_SCHEMA, true);
+  /** @return whether the async executor can take the {@code operations} without rejecting any */
+  private boolean hasAsyncCapacity(int operations) {
+    return asyncExecutor.getQueue().remainingCapacity() >= operations;
+  }
+
+  /**
+   * Executes the operations on the async executor and releases the container thread. The results
+   * are written in order as they complete and the request completes once the last result is
+   * written. The {@code cancellation} is cancelled if the request times out or fails, such as when
+   * the client goes away. If a result fails to be written or the request times out, the remaining
+   * results are replaced with error results so that the response is not left truncated.
+   *
+   * @throws IOException if the response could not be started, in which case the async request is
+   *     already completed
+   */
+  private CompletableFuture<Void> executeAsync(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      GraphQLSchema schema,
+      DecodedRequest decodedRequest,
+      List<PreparedOperation> operations,
+      CancellationToken cancellation)
+      throws IOException {
+    // The async threads do not inherit the caller's access control context
+    Subject subject = Subject.getSubject(AccessController.getContext());
+    AsyncContext asyncContext = request.startAsync();
+    // The functions stop at the request deadline, after which the results are only written
+    asyncContext.setTimeout(requestTimeoutMillis + ASYNC_TIMEOUT_GRACE_IN_MILLIS);
+
+    AsyncResponse asyncResponse;
+    try {
+      JsonGenerator generator = createGenerator(request, response);
+      if (decodedRequest.isBatch()) {
+        generator.writeStartArray();
+      }
+      asyncResponse =
+          new AsyncResponse(asyncContext, generator, decodedRequest.isBatch(), operations.size());
+      asyncContext.addListener(new CancellingAsyncListener(cancellation, asyncResponse));
+    } catch (IOException | RuntimeException e) {
+      asyncContext.complete();
+      throw e;
+    }
+
+    CompletableFuture<Void> written = CompletableFuture.completedFuture(null);
+    // Queries start once the preceding mutation is written, mutations once everything before them
+    CompletableFuture<Void> barrier = written;
+    for (PreparedOperation operation : operations) {
+      if (concurrentBatchExecution && !operation.isMutation()) {
+        CompletableFuture<Map<String, Object>> result =
+            barrier.thenCompose(
+                ignored -> submitAsync(subject, request, response, schema, operation));
+        written = written.thenCombine(result, (ignored, r) -> asyncResponse.write(r));
+      } else {
+        written =
+            written
+                .thenCompose(ignored -> submitAsync(subject, request, response, schema, operation))
+                .thenApply(asyncResponse::write);
+        barrier = written;
+      }
+    }
+
+    return written.whenComplete(
+        (ignored, e) -> {
+          if (e != null) {
+            LOGGER.debug("Error writing GraphQL response.", e);
+          }
+          asyncResponse.complete(BATCH_ELEMENT_ERROR_RESULT);
+        });
+  }
+
+  private CompletableFuture<Map<String, Object>> submitAsync(
+      Subject subject,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      GraphQLSchema schema,
+      PreparedOperation operation) {
+    PrivilegedAction<CompletableFuture<Map<String, Object>>> action =
+        () -> executeOperation(request, response, schema, operation);
+
+    try {
+      return CompletableFuture.supplyAsync(
+              () -> subject == null ? action.run() : Subject.doAs(subject, action), asyncExecutor)
+          .thenCompose(Function.identity())
+          .exceptionally(
+              e -> {
+                LOGGER.debug("Error executing GraphQL request.", e);
+                return BATCH_ELEMENT_ERROR_RESULT;
+              });
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Too many GraphQL requests executing asynchronously.", e);
+      return CompletableFuture.completedFuture(ASYNC_EXECUTOR_BUSY_RESULT);
+    }
+  }
+
+  private JsonGenerator createGenerator(HttpServletRequest request, HttpServletResponse response)
+      throws IOException {
+    Optional<CompressingOutputStream> compressed = openCompressingStream(request, response);
+    if (compressed.isPresent()) {
+      // Closing the generator finishes the compressed body
+      return getMapper().getFactory().createGenerator(compressed.get(), JsonEncoding.UTF8);
+    }
+
+    JsonGenerator generator =
+        getMapper().getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8);
+    // The servlet container is responsible for closing the response stream
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return generator;
+  }
+
+  /**
+   * @return a stream compressing the response body once it exceeds the compression threshold, or
+   *     empty if the client does not accept a compressed response
+   */
+  private Optional<CompressingOutputStream> openCompressingStream(
+      HttpServletRequest request, HttpServletResponse response) {
+    response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    return CompressingOutputStream.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+        .map(encoding -> new CompressingOutputStream(response, encoding, compressionThreshold));
+  }
+
+  /**
+   * Executes each query of the batch on the batch executor and writes the results in the same order
+   * as the {@code operations} as they complete. A mutation executes alone, once the elements before
+   * it completed and before the elements after it start. A batch element that fails is replaced
+   * with an error result so that it does not affect the other elements.
+   */
+  private void writeConcurrently(
+      JsonGenerator generator,
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse,
+      GraphQLSchema schema,
+      List<PreparedOperation> operations)
+      throws IOException {
+    // The batch threads do not inherit the caller's access control context
+    Subject subject = Subject.getSubject(AccessController.getContext());
+
+    List<Future<Map<String, Object>>> futures = new ArrayList<>();
+    for (PreparedOperation operation : operations) {
+      if (!operation.isMutation()) {
+        PrivilegedExceptionAction<Map<String, Object>> action =
+            () -> executeBatchElement(originalRequest, originalResponse, schema, operation);
+        futures.add(
+            batchExecutor.submit(
+                () -> subject == null ? action.run() : Subject.doAs(subject, action)));
+        continue;
+      }
+
+      writeResults(generator, futures);
+      futures.clear();
+      generator.writeObject(
+          Thread.currentThread().isInterrupted()
+              ? BATCH_ELEMENT_ERROR_RESULT
+              : executeBatchElement(originalRequest, originalResponse, schema, operation));
+    }
+
+    writeResults(generator, futures);
+  }
+
+  /** Waits on each of the {@code futures} in order and writes its result. */
+  private void writeResults(JsonGenerator generator, List<Future<Map<String, Object>>> futures)
+      throws IOException {
+    for (Future<Map<String, Object>> future : futures) {
+      Map<String, Object> result;
+      try {
+        result = future.get();
+      } catch (InterruptedException e) {
+        LOGGER.debug("Interrupted while waiting on batched request.", e);
+        futures.forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        result = BATCH_ELEMENT_ERROR_RESULT;
+      } catch (ExecutionException e) {
+        LOGGER.debug("Error executing batched request.", e);
+        result = BATCH_ELEMENT_ERROR_RESULT;
+      }
+      generator.writeObject(result);
+    }
+  }
+
+  private Map<String, Object> executeBatchElement(
+      HttpServletRequest originalRequest,
+      HttpServletResponse originalResponse,
+      GraphQLSchema schema,
+      PreparedOperation operation) {
+    try {
+      return executeOperation(originalRequest, originalResponse, schema, operation).join();
+    } catch (RuntimeException e) {
+      LOGGER.debug("Error executing GraphQL request.", e);
+      return BATCH_ELEMENT_ERROR_RESULT;
+    }
   }
 
   /**
-   * Refreshes the schema periodically once the cache invalidates if a REFRESH_SCHEMA event was
-   * added to the cache. This allows multiple threads to ask for a schema refresh while only
-   * refreshing the schema once.
+   * Executes a single operation the same way {@link graphql.servlet.GraphQLServlet} does, but
+   * against the already decoded query, operation name and variables.
    *
-   * @param notification
+   * @return a future of the result containing the data and any errors processed by the error
+   *     handler, completed once the {@link ExecutionResult} is available
    */
-  private void refreshSchemaOnExpire(RemovalNotification notification) {
-    if (notification.getCause() == RemovalCause.EXPIRED) {
+  private CompletableFuture<Map<String, Object>> executeOperation(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      GraphQLSchema schema,
+      PreparedOperation prepared) {
+    if (prepared.getRejection() != null) {
+      return CompletableFuture.completedFuture(prepared.getRejection());
+    }
+
+    OperationRequest operation = prepared.getOperation();
+
+    GraphQLContext context = createContext(Optional.of(request), Optional.of(response));
+    Object rootObject = createRootObject(Optional.of(request), Optional.of(response));
+
+    ExecutionInput executionInput =
+        new ExecutionInput(
+            operation.getQuery(),
+            operation.getOperationName(),
+            context,
+            rootObject,
+            transformVariables(schema, operation.getQuery(), operation.getVariables()));
+
+    CompletableFuture<ExecutionResult> executionResult;
+    if (Subject.getSubject(AccessController.getContext()) == null
+        && context.getSubject().isPresent()) {
+      executionResult =
+          Subject.doAs(
+              context.getSubject().get(),
+              (PrivilegedAction<CompletableFuture<ExecutionResult>>)
+                  () -> newGraphQL(schema, prepared).executeAsync(executionInput));
+    } else {
+      executionResult = newGraphQL(schema, prepared).executeAsync(executionInput);
+    }
+
+    return executionResult.thenApply(this::toResult);
+  }
+
+  private Map<String, Object> toResult(ExecutionResult executionResult) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("data", executionResult.getData());
+    if (errorHandler.errorsPresent(executionResult.getErrors())) {
+      result.put("errors", errorHandler.processErrors(executionResult.getErrors()));
+    }
+    if (executionResult.getExtensions() != null && !executionResult.getExtensions().isEmpty()) {
+      result.put("extensions", executionResult.getExtensions());
+    }
+    return result;
+  }
+
+  /**
+   * @return an unmodifiable result without data and with a single error with the {@code message}
+   */
+  static Map<String, Object> createErrorResult(String message) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("data", null);
+    result.put("errors", Collections.singletonList(Collections.singletonMap("message", message)));
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Returns whether the client asked for the timings of the operations in the {@code tracing}
+   * extension of the results.
+   */
+  private static boolean isTracingRequested(HttpServletRequest request) {
+    return Boolean.parseBoolean(request.getHeader(TRACING_HEADER));
+  }
+
+  /**
+   * Executes the operation with the document it was prepared with, so that the document cache is
+   * only looked up once per operation.
+   */
+  private GraphQL newGraphQL(GraphQLSchema schema, PreparedOperation prepared) {
+    PreparsedDocumentEntry document = prepared.getDocument();
+    return newGraphQL(
+        schema,
+        prepared.getTracing(),
+        document == null ? documentCache.forSchema(schema) : (query, parseAndValidate) -> document);
+  }
+
+  private GraphQL newGraphQL(
+      GraphQLSchema schema,
+      OperationTracing tracing,
+      PreparsedDocumentProvider preparsedDocumentProvider) {
+    Instrumentation instrumentation = getInstrumentation();
+    if (tracing != null) {
+      instrumentation =
+          new ChainedInstrumentation(
+              Arrays.asList(instrumentation, new OperationTracingInstrumentation(tracing)));
+    }
+
+    return GraphQL.newGraphQL(schema)
+        .queryExecutionStrategy(execStrategy.getQueryExecutionStrategy())
+        .mutationExecutionStrategy(execStrategy.getMutationExecutionStrategy())
+        .subscriptionExecutionStrategy(execStrategy.getSubscriptionExecutionStrategy())
+        .instrumentation(instrumentation)
+        .preparsedDocumentProvider(preparsedDocumentProvider)
+        .build();
+  }
+
+  /**
+   * Schedules a schema refresh once the refresh delay elapsed. Every refresh requested until the
+   * scheduled refresh starts is coalesced into it, so that binding many providers at once only
+   * refreshes the schema once.
+   */
+  private void triggerSchemaRefresh(String refreshReason) {
+    LOGGER.trace("GraphQL schema refresh requested. Cause: {}", refreshReason);
+    if (schemaRefreshPending.compareAndSet(false, true)) {
+      schemaRefreshExecutor.schedule(
+          this::refreshPendingSchema, schemaRefreshDelayMillis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void refreshPendingSchema() {
+    // Cleared before refreshing so that changes made during the refresh schedule another one
+    schemaRefreshPending.set(false);
+    refreshSchemaQuietly();
+  }
+
+  private void refreshSchemaQuietly() {
+    try {
       refreshSchema();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to refresh the GraphQL schema.", e);
     }
   }
 
-  // Synchronized just in case the schema is still updating when another refresh is called
-  // The performance decrease by the `synchronized` is negligible because of the periodic cache
-  // invalidation implementation
+  // Synchronized so that concurrent refreshes do not transform the same providers. Requests never
+  // wait on it since they only read the published schema snapshot.
   private synchronized void refreshSchema() {
     LOGGER.trace("Refreshing GraphQL schema.");
 
-    transformedProviders.forEach(this::unbindProvider);
+    List<FieldProvider> providers = new ArrayList<>(fieldProviders);
+    Set<FieldProvider> currentProviders = Collections.newSetFromMap(new IdentityHashMap<>());
+    currentProviders.addAll(providers);
+    boolean providersChanged = !currentProviders.equals(transformedProviders.keySet());
 
-    if (errorCodeProvider != null) {
-      unbindProvider(errorCodeProvider);
+    // Only the providers that were removed or that reference an enum type whose values changed
+    // are transformed again. The types they share with the remaining providers are reused.
+    Set<String> changedEnumTypes = transformer.getChangedEnumTypes();
+    Set<String> staleTypes = new HashSet<>(changedEnumTypes);
+    Set<String> retainedTypes = new HashSet<>();
+
+    Iterator<GraphQLProviderImpl> iterator = transformedProviders.values().iterator();
+    while (iterator.hasNext()) {
+      GraphQLProviderImpl provider = iterator.next();
+      if (!currentProviders.contains(provider.getFieldProvider())
+          || provider.referencesAny(changedEnumTypes)) {
+        staleTypes.addAll(provider.getTypeNames());
+        iterator.remove();
+      } else {
+        retainedTypes.addAll(provider.getTypeNames());
+      }
+    }
+
+    staleTypes.removeAll(retainedTypes);
+    transformer.removeTypes(staleTypes);
+
+    // The new providers are transformed concurrently. The transformer registers each type once, so
+    // the providers that share a type end up referencing the same instance of it.
+    Map<FieldProvider, ForkJoinTask<GraphQLProviderImpl>> transformations = new IdentityHashMap<>();
+    for (FieldProvider fieldProvider : providers) {
+      if (!transformedProviders.containsKey(fieldProvider)
+          && !transformations.containsKey(fieldProvider)) {
+        transformations.put(
+            fieldProvider,
+            schemaTransformPool.submit(() -> new GraphQLProviderImpl(fieldProvider, transformer)));
+      }
     }
 
-    GraphQLTransformCommons transformer = new GraphQLTransformCommons();
+    // Wait for every transformation, even when one of them fails, so that none of them is still
+    // registering types once the next refresh starts
+    transformations.values().forEach(ForkJoinTask::quietlyJoin);
+
+    // Merge in the order of the providers so that the schema does not depend on which
+    // transformation finished first
+    List<GraphQLProviderImpl> orderedProviders = new ArrayList<>();
+    for (FieldProvider fieldProvider : providers) {
+      GraphQLProviderImpl provider = transformedProviders.get(fieldProvider);
+      if (provider == null) {
+        provider = transformations.get(fieldProvider).join();
+        transformedProviders.put(fieldProvider, provider);
+      }
+      orderedProviders.add(provider);
+    }
+    int transformedCount = transformations.size();
 
-    transformedProviders =
-        fieldProviders
-            .stream()
-            .map(fieldProvider -> new GraphQLProviderImpl(fieldProvider, transformer))
-            .collect(Collectors.toList());
+    if (warmupSnapshot != null) {
+      // The snapshot only answers introspection, so any live field is worth more than it
+      if (orderedProviders.stream().allMatch(provider -> provider.getQueries().isEmpty())
+          && System.currentTimeMillis() < warmupDeadlineMillis) {
+        LOGGER.trace("Keeping the schema snapshot until a field provider is bound.");
+        return;
+      }
 
-    errorCodeProvider = transformer.getErrorCodesQueryProvider(fieldProviders);
+      // The live schema replaces the snapshot even if it is built from the same providers
+      warmupSnapshot = null;
+      providersChanged = true;
+    }
 
-    transformedProviders.forEach(this::bindProvider);
+    if (providersChanged) {
+      errorCodeProvider = transformer.getErrorCodesQueryProvider(providers);
+    }
+
+    if (providersChanged || transformedCount > 0) {
+      GraphQLSchemaProvider schemaProvider = createSchemaProvider(orderedProviders);
+      schemaSnapshot.set(schemaProvider);
+      documentCache.clear();
+      introspectionCache.clear();
+
+      if (schemaSnapshotStore != null) {
+        schemaSnapshotStore.save(schemaProvider.getSchema());
+      }
+    }
+
+    LOGGER.trace(
+        "Finished refreshing GraphQL schema. Transformed {} of {} providers. Changed enums: {}",
+        transformedCount,
+        providers.size(),
+        changedEnumTypes);
+  }
+
+  /** Builds a new schema from the transformed providers without modifying the published schema. */
+  private GraphQLSchemaProvider createSchemaProvider(List<GraphQLProviderImpl> providers) {
+    GraphQLObjectType.Builder queryType =
+        GraphQLObjectType.newObject().name("Query").description("Root query type");
+    GraphQLObjectType.Builder mutationType =
+        GraphQLObjectType.newObject().name("Mutation").description("Root mutation type");
+    boolean mutationsPresent = false;
+
+    for (GraphQLProviderImpl provider : providers) {
+      provider.getQueries().forEach(queryType::field);
+      provider.getMutations().forEach(mutationType::field);
+      mutationsPresent |= !provider.getMutations().isEmpty();
+    }
 
     if (errorCodeProvider != null) {
-      bindProvider(errorCodeProvider);
+      errorCodeProvider.getQueries().forEach(queryType::field);
     }
 
-    LOGGER.trace("Finished refreshing GraphQL schema.");
+    return new DefaultGraphQLSchemaProvider(
+        GraphQLSchema.newSchema()
+            .query(queryType.build())
+            .mutation(mutationsPresent ? mutationType.build() : null)
+            .build(new HashSet<>()));
   }
 
   public void bindFieldProvider(FieldProvider fieldProvider) {
@@ -273,20 +1079,285 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
             UNBINDING_FIELD_PROVIDER, fieldProvider == null ? "" : fieldProvider.getFieldType()));
   }
 
+  /** @return the amount of requests that reused a cached parsed and validated document */
+  public long getDocumentCacheHitCount() {
+    return documentCache.getHitCount();
+  }
+
+  /** @return the amount of requests that had to parse and validate their document */
+  public long getDocumentCacheMissCount() {
+    return documentCache.getMissCount();
+  }
+
+  /**
+   * Sets how long to wait after a schema refresh is requested before refreshing the schema. All the
+   * refreshes requested in the meantime are handled by the same refresh.
+   *
+   * @param schemaRefreshDelayMillis delay in milliseconds, must not be negative
+   */
+  public void setSchemaRefreshDelayMillis(long schemaRefreshDelayMillis) {
+    if (schemaRefreshDelayMillis < 0) {
+      LOGGER.debug(
+          "Invalid schema refresh delay [{}]. Keeping current delay of [{}] milliseconds.",
+          schemaRefreshDelayMillis,
+          this.schemaRefreshDelayMillis);
+      return;
+    }
+
+    this.schemaRefreshDelayMillis = schemaRefreshDelayMillis;
+  }
+
   public void setFieldProviders(List<FieldProvider> fieldProviders) {
     this.fieldProviders = fieldProviders;
   }
 
+  /**
+   * Sets whether the elements of a batched request are executed concurrently on the batch executor
+   * or one after another on the request thread.
+   *
+   * @param concurrentBatchExecution true to execute batch elements concurrently
+   */
+  public void setConcurrentBatchExecution(boolean concurrentBatchExecution) {
+    this.concurrentBatchExecution = concurrentBatchExecution;
+  }
+
+  /**
+   * Sets the maximum number of threads used to execute batched requests concurrently.
+   *
+   * @param batchThreadPoolSize number of threads, must be greater than 0
+   */
+  public void setBatchThreadPoolSize(int batchThreadPoolSize) {
+    setPoolSize(batchExecutor, batchThreadPoolSize, "batch");
+  }
+
+  /**
+   * Sets whether requests are executed asynchronously on the async executor, releasing the
+   * container thread while the operations execute. Only applies when the container supports async
+   * processing for the request.
+   *
+   * @param asyncExecution true to execute requests asynchronously
+   */
+  public void setAsyncExecution(boolean asyncExecution) {
+    this.asyncExecution = asyncExecution;
+  }
+
+  /**
+   * Sets the maximum number of threads used to execute requests asynchronously.
+   *
+   * @param asyncThreadPoolSize number of threads, must be greater than 0
+   */
+  public void setAsyncThreadPoolSize(int asyncThreadPoolSize) {
+    setPoolSize(asyncExecutor, asyncThreadPoolSize, "async");
+  }
+
+  /**
+   * Sets the executor that resolves the function fields of queries. See {@link ResolverExecutors}
+   * for the supported types.
+   *
+   * @param queryResolverExecutorType executor type
+   */
+  public void setQueryResolverExecutor(String queryResolverExecutorType) {
+    resolverExecutors.setQueryExecutorType(queryResolverExecutorType);
+  }
+
+  /**
+   * Sets the executor that resolves the function fields of mutations. Mutations are always resolved
+   * one after another regardless of the executor. See {@link ResolverExecutors} for the supported
+   * types.
+   *
+   * @param mutationResolverExecutorType executor type
+   */
+  public void setMutationResolverExecutor(String mutationResolverExecutorType) {
+    resolverExecutors.setMutationExecutorType(mutationResolverExecutorType);
+  }
+
+  /**
+   * Sets the number of threads of the fixed and work-stealing resolver executors.
+   *
+   * @param resolverThreadPoolSize number of threads, must be greater than 0
+   */
+  public void setResolverThreadPoolSize(int resolverThreadPoolSize) {
+    resolverExecutors.setPoolSize(resolverThreadPoolSize);
+  }
+
+  /**
+   * Sets the size of the response body above which responses are compressed for the clients that
+   * accept it.
+   *
+   * @param compressionThreshold size in bytes, must not be negative
+   */
+  public void setCompressionThreshold(int compressionThreshold) {
+    if (compressionThreshold < 0) {
+      LOGGER.debug(
+          "Invalid compression threshold [{}]. Keeping current threshold of [{}] bytes.",
+          compressionThreshold,
+          this.compressionThreshold);
+      return;
+    }
+
+    this.compressionThreshold = compressionThreshold;
+  }
+
+  /**
+   * Sets the maximum cost of an operation. The cost of an operation is the sum of the costs of the
+   * functions it invokes.
+   *
+   * @param maxQueryCost maximum cost, must be greater than 0
+   */
+  public void setMaxQueryCost(int maxQueryCost) {
+    admission.setMaxQueryCost(maxQueryCost);
+  }
+
+  /**
+   * Sets the maximum depth of the fields of an operation.
+   *
+   * @param maxQueryDepth maximum depth, must be greater than 0
+   */
+  public void setMaxQueryDepth(int maxQueryDepth) {
+    admission.setMaxQueryDepth(maxQueryDepth);
+  }
+
+  /**
+   * Sets the maximum number of aliased fields of an operation.
+   *
+   * @param maxQueryAliases maximum number of aliases, must not be negative
+   */
+  public void setMaxQueryAliases(int maxQueryAliases) {
+    admission.setMaxQueryAliases(maxQueryAliases);
+  }
+
+  /**
+   * Sets the total cost of the expensive requests allowed to execute at the same time. Requests
+   * exceeding the budget are answered with a 429 status.
+   *
+   * @param queryCostBudget total cost, must be greater than 0
+   */
+  public void setQueryCostBudget(int queryCostBudget) {
+    admission.setQueryCostBudget(queryCostBudget);
+  }
+
+  /**
+   * Sets how long a request waits for executing requests to give back enough of the query cost
+   * budget before it is rejected.
+   *
+   * @param queryCostBudgetWaitMillis time to wait in milliseconds, must not be negative
+   */
+  public void setQueryCostBudgetWaitMillis(long queryCostBudgetWaitMillis) {
+    admission.setQueryCostBudgetWaitMillis(queryCostBudgetWaitMillis);
+  }
+
+  /**
+   * Sets the deadline of the functions executed by a request. Functions stop waiting on remote
+   * systems once the deadline passes.
+   *
+   * @param requestTimeoutMillis deadline in milliseconds after the request started, must be
+   *     positive
+   */
+  public void setRequestTimeoutMillis(long requestTimeoutMillis) {
+    if (requestTimeoutMillis <= 0) {
+      LOGGER.debug(
+          "Invalid request timeout [{}]. Keeping current timeout of [{}] milliseconds.",
+          requestTimeoutMillis,
+          this.requestTimeoutMillis);
+      return;
+    }
+
+    this.requestTimeoutMillis = requestTimeoutMillis;
+  }
+
+  /**
+   * Sets where the published schema is saved so that it can be served right after a restart.
+   *
+   * @param schemaSnapshotFile path of the snapshot, relative to {@code ddf.home} unless absolute.
+   *     Blank to disable the snapshot.
+   */
+  public void setSchemaSnapshotFile(String schemaSnapshotFile) {
+    if (StringUtils.isBlank(schemaSnapshotFile)) {
+      schemaSnapshotStore = null;
+      return;
+    }
+
+    try {
+      Path file = Paths.get(System.getProperty("ddf.home", "")).resolve(schemaSnapshotFile);
+      schemaSnapshotStore = new SchemaSnapshotStore(file, getMapper());
+    } catch (InvalidPathException e) {
+      LOGGER.debug(
+          "Invalid schema snapshot file [{}]. Disabling the schema snapshot.",
+          schemaSnapshotFile,
+          e);
+      schemaSnapshotStore = null;
+    }
+  }
+
+  /**
+   * Sets how long the schema snapshot is served at most while waiting on the first field provider
+   * to be bound.
+   *
+   * @param schemaSnapshotWarmupMillis warmup in milliseconds, must not be negative
+   */
+  public void setSchemaSnapshotWarmupMillis(long schemaSnapshotWarmupMillis) {
+    if (schemaSnapshotWarmupMillis < 0) {
+      LOGGER.debug(
+          "Invalid schema snapshot warmup [{}]. Keeping current warmup of [{}] milliseconds.",
+          schemaSnapshotWarmupMillis,
+          this.schemaSnapshotWarmupMillis);
+      return;
+    }
+
+    this.schemaSnapshotWarmupMillis = schemaSnapshotWarmupMillis;
+  }
+
+  private static void setPoolSize(ThreadPoolExecutor executor, int poolSize, String poolName) {
+    if (poolSize < 1) {
+      LOGGER.debug(
+          "Invalid {} thread pool size [{}]. Keeping current size of [{}].",
+          poolName,
+          poolSize,
+          executor.getMaximumPoolSize());
+      return;
+    }
+
+    if (poolSize > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(poolSize);
+      executor.setCorePoolSize(poolSize);
+    } else {
+      executor.setCorePoolSize(poolSize);
+      executor.setMaximumPoolSize(poolSize);
+    }
+  }
+
   private static class GraphQLProviderImpl
       implements GraphQLProvider, GraphQLQueryProvider, GraphQLMutationProvider {
 
+    private FieldProvider fieldProvider;
+
     private List<GraphQLFieldDefinition> queries;
 
     private List<GraphQLFieldDefinition> mutations;
 
+    private Set<String> typeNames;
+
     public GraphQLProviderImpl(FieldProvider provider, GraphQLTransformCommons transformCommons) {
+      fieldProvider = provider;
       queries = transformCommons.fieldProviderToQueries(provider);
       mutations = transformCommons.fieldProviderToMutations(provider);
+
+      List<GraphQLFieldDefinition> definitions = new ArrayList<>(queries);
+      definitions.addAll(mutations);
+      typeNames = transformCommons.getReferencedTypeNames(definitions);
+    }
+
+    public FieldProvider getFieldProvider() {
+      return fieldProvider;
+    }
+
+    /** @return the names of all the types used by the queries and mutations of the provider */
+    public Set<String> getTypeNames() {
+      return typeNames;
+    }
+
+    public boolean referencesAny(Set<String> typeNames) {
+      return typeNames.stream().anyMatch(this.typeNames::contains);
     }
 
     @Override
@@ -334,34 +1405,106 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
     return transformedPath;
   }
 
+  private static boolean isFunctionField(GraphQLFieldDefinition fieldDefinition) {
+    return fieldDefinition.getDataFetcher() instanceof FunctionDataFetcher;
+  }
+
+  /**
+   * Fetches a field on the resolver executor with the caller's subject. Falls back to fetching on
+   * the calling thread if the executor does not accept the field.
+   */
+  private static CompletableFuture<Object> fetchOnExecutor(
+      Executor resolverExecutor, PrivilegedAction<CompletableFuture<Object>> fetch) {
+    Subject subject = Subject.getSubject(AccessController.getContext());
+    try {
+      return CompletableFuture.supplyAsync(
+              () -> subject == null ? fetch.run() : Subject.doAs(subject, fetch), resolverExecutor)
+          .thenCompose(Function.identity());
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Resolver executor rejected field. Fetching it on the calling thread.", e);
+      return fetch.run();
+    }
+  }
+
+  /**
+   * Fetches function fields on the resolver executor, if there is one, so that sibling function
+   * fields resolve in parallel.
+   */
   private static class ExtendedEnhancedExecutionStrategy extends AsyncExecutionStrategy {
 
-    public ExtendedEnhancedExecutionStrategy() {
+    private final Executor resolverExecutor;
+
+    public ExtendedEnhancedExecutionStrategy(Executor resolverExecutor) {
       super(new DataFetcherExceptionHandlerImpl());
+      this.resolverExecutor = resolverExecutor;
+    }
+
+    @Override
+    protected CompletableFuture<Object> fetchField(
+        ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+      if (resolverExecutor == null
+          || !isFunctionField(
+              getFieldDef(executionContext, parameters, parameters.field().get(0)))) {
+        return super.fetchField(executionContext, parameters);
+      }
+
+      return fetchOnExecutor(
+          resolverExecutor, () -> super.fetchField(executionContext, parameters));
+    }
+  }
+
+  /**
+   * Resolves the top level fields one after another as required for mutations. Function fields are
+   * fetched on the resolver executor, if there is one.
+   */
+  private static class ExtendedSerialExecutionStrategy extends AsyncSerialExecutionStrategy {
+
+    private final Executor resolverExecutor;
+
+    public ExtendedSerialExecutionStrategy(Executor resolverExecutor) {
+      super(new DataFetcherExceptionHandlerImpl());
+      this.resolverExecutor = resolverExecutor;
+    }
+
+    @Override
+    protected CompletableFuture<Object> fetchField(
+        ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+      if (resolverExecutor == null
+          || !isFunctionField(
+              getFieldDef(executionContext, parameters, parameters.field().get(0)))) {
+        return super.fetchField(executionContext, parameters);
+      }
+
+      return fetchOnExecutor(
+          resolverExecutor, () -> super.fetchField(executionContext, parameters));
     }
   }
 
   private static class ExecutionStrategyProviderImpl implements ExecutionStrategyProvider {
 
-    private ExtendedEnhancedExecutionStrategy strategy;
+    private ExecutionStrategy queryStrategy;
+
+    private ExecutionStrategy mutationStrategy;
 
-    public ExecutionStrategyProviderImpl() {
-      strategy = new ExtendedEnhancedExecutionStrategy();
+    public ExecutionStrategyProviderImpl(
+        Executor queryResolverExecutor, Executor mutationResolverExecutor) {
+      queryStrategy = new ExtendedEnhancedExecutionStrategy(queryResolverExecutor);
+      mutationStrategy = new ExtendedSerialExecutionStrategy(mutationResolverExecutor);
     }
 
     @Override
     public ExecutionStrategy getQueryExecutionStrategy() {
-      return strategy;
+      return queryStrategy;
     }
 
     @Override
     public ExecutionStrategy getMutationExecutionStrategy() {
-      return strategy;
+      return mutationStrategy;
     }
 
     @Override
     public ExecutionStrategy getSubscriptionExecutionStrategy() {
-      return strategy;
+      return queryStrategy;
     }
   }
 
@@ -372,4 +1515,116 @@ public class ExtendedOsgiGraphQLServlet extends OsgiGraphQLServlet implements Ev
       return error instanceof DataFetchingGraphQLError || super.isClientError(error);
     }
   }
+
+  /**
+   * Writes the results of an async request in order. The response is ended and the request
+   * completed exactly once, either after the last result or when the request times out or fails,
+   * whichever comes first.
+   */
+  private static class AsyncResponse {
+
+    private final AsyncContext asyncContext;
+
+    private final JsonGenerator generator;
+
+    private final boolean batch;
+
+    private final int operationCount;
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    // Guarded by the generator
+    private int writtenCount;
+
+    private AsyncResponse(
+        AsyncContext asyncContext, JsonGenerator generator, boolean batch, int operationCount) {
+      this.asyncContext = asyncContext;
+      this.generator = generator;
+      this.batch = batch;
+      this.operationCount = operationCount;
+    }
+
+    /** Writes the next result, unless the response already ended. */
+    Void write(Map<String, Object> result) {
+      synchronized (generator) {
+        if (completed.get()) {
+          return null;
+        }
+
+        try {
+          generator.writeObject(result);
+          writtenCount++;
+          // Sends the result right away instead of when the request completes
+          generator.flush();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Ends the response, with the {@code remainingResult} in place of each result that was not
+     * written, and completes the request. Only the first call has any effect.
+     */
+    void complete(Map<String, Object> remainingResult) {
+      if (!completed.compareAndSet(false, true)) {
+        return;
+      }
+
+      synchronized (generator) {
+        try {
+          for (int i = writtenCount; i < operationCount; i++) {
+            generator.writeObject(remainingResult);
+          }
+          if (batch) {
+            generator.writeEndArray();
+          }
+          generator.close();
+        } catch (IOException e) {
+          LOGGER.debug("Error writing GraphQL response.", e);
+        } finally {
+          asyncContext.complete();
+        }
+      }
+    }
+  }
+
+  /**
+   * Cancels the functions of an async request that timed out or failed and ends its response with
+   * error results.
+   */
+  private static class CancellingAsyncListener implements AsyncListener {
+
+    private final CancellationToken cancellation;
+
+    private final AsyncResponse asyncResponse;
+
+    private CancellingAsyncListener(CancellationToken cancellation, AsyncResponse asyncResponse) {
+      this.cancellation = cancellation;
+      this.asyncResponse = asyncResponse;
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+      cancellation.cancel();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+      cancellation.cancel();
+      asyncResponse.complete(ASYNC_TIMEOUT_RESULT);
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+      cancellation.cancel();
+      asyncResponse.complete(BATCH_ELEMENT_ERROR_RESULT);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+      // The request is only started asynchronously once
+    }
+  }
 }
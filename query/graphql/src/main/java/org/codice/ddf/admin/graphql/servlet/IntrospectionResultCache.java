@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.hash.Hashing;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Serialized result of the standard introspection query for the current schema. The result is
+ * computed once per schema and identified by an ETag derived from its content, so clients can
+ * revalidate it with {@code If-None-Match} instead of downloading it again.
+ */
+public class IntrospectionResultCache {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private static final String INTROSPECTION_QUERY =
+      normalize(IntrospectionQuery.INTROSPECTION_QUERY);
+
+  private volatile IntrospectionResult result;
+
+  /** @return true if the {@code query} is the standard introspection query, ignoring whitespace */
+  public static boolean isIntrospectionQuery(String query) {
+    return query != null && INTROSPECTION_QUERY.equals(normalize(query));
+  }
+
+  /**
+   * @param schema schema to introspect
+   * @param introspect serializes the result of the introspection query for a schema
+   * @return the introspection result of the {@code schema}, computed if not cached yet
+   */
+  public IntrospectionResult get(GraphQLSchema schema, Function<GraphQLSchema, byte[]> introspect) {
+    IntrospectionResult current = result;
+    if (current != null && current.schema == schema) {
+      return current;
+    }
+
+    synchronized (this) {
+      current = result;
+      if (current == null || current.schema != schema) {
+        current = new IntrospectionResult(schema, introspect.apply(schema));
+        result = current;
+      }
+      return current;
+    }
+  }
+
+  /** Removes the cached result. Should be called whenever the schema is replaced. */
+  public void clear() {
+    result = null;
+  }
+
+  private static String normalize(String query) {
+    return WHITESPACE.matcher(query).replaceAll(" ").trim();
+  }
+
+  public static class IntrospectionResult {
+
+    private final GraphQLSchema schema;
+
+    private final byte[] bytes;
+
+    private final String eTag;
+
+    private IntrospectionResult(GraphQLSchema schema, byte[] bytes) {
+      this.schema = schema;
+      this.bytes = bytes;
+      this.eTag = '"' + Hashing.sha256().hashBytes(bytes).toString() + '"';
+    }
+
+    /** @return the serialized result. Must not be modified. */
+    public byte[] getBytes() {
+      return bytes;
+    }
+
+    public String getETag() {
+      return eTag;
+    }
+
+    /**
+     * @param ifNoneMatch value of the {@code If-None-Match} header, may be null
+     * @return true if the client already has this result
+     */
+    public boolean matches(String ifNoneMatch) {
+      if (ifNoneMatch == null) {
+        return false;
+      }
+
+      for (String tag : ifNoneMatch.split(",")) {
+        String trimmed = tag.trim();
+        // Weak comparison, as required for If-None-Match
+        if (trimmed.startsWith("W/")) {
+          trimmed = trimmed.substring(2);
+        }
+        if ("*".equals(trimmed) || eTag.equals(trimmed)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
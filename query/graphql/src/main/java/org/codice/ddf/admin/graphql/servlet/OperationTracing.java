@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import graphql.execution.ExecutionTypeInfo;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.schema.DataFetchingEnvironment;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Timings of a single operation, in the Apollo tracing format. Offsets and durations are in
+ * nanoseconds relative to the start of the operation. The fetch of a function field spans the
+ * execution of its {@link org.codice.ddf.admin.api.fields.FunctionField}, so the resolvers show
+ * which function dominates a slow request. Parsing and validation have no duration when the
+ * document of the operation was already cached.
+ */
+public class OperationTracing implements InstrumentationState {
+
+  public static final String EXTENSION = "tracing";
+
+  private static final int VERSION = 1;
+
+  private final Instant startTime;
+
+  private final long startNanos;
+
+  private final Queue<Map<String, Object>> resolvers;
+
+  private volatile Map<String, Object> parsing;
+
+  private volatile Map<String, Object> validation;
+
+  public OperationTracing() {
+    startTime = Instant.now();
+    startNanos = System.nanoTime();
+    resolvers = new ConcurrentLinkedQueue<>();
+    parsing = timing(0, 0);
+    validation = timing(0, 0);
+  }
+
+  /** @return the current offset from the start of the operation */
+  public long offset() {
+    return System.nanoTime() - startNanos;
+  }
+
+  public void recordParsing(long startOffset) {
+    parsing = timing(startOffset, offset() - startOffset);
+  }
+
+  public void recordValidation(long startOffset) {
+    validation = timing(startOffset, offset() - startOffset);
+  }
+
+  public void recordResolver(DataFetchingEnvironment environment, long startOffset) {
+    long duration = offset() - startOffset;
+    ExecutionTypeInfo typeInfo = environment.getFieldTypeInfo();
+
+    Map<String, Object> resolver = new LinkedHashMap<>();
+    resolver.put("path", typeInfo.getPath().toList());
+    resolver.put("parentType", typeInfo.getParentTypeInfo().toAst());
+    resolver.put("returnType", typeInfo.toAst());
+    resolver.put("fieldName", typeInfo.getFieldDefinition().getName());
+    resolver.put("startOffset", startOffset);
+    resolver.put("duration", duration);
+    resolvers.add(resolver);
+  }
+
+  /** @return the timings recorded so far, ending the operation now */
+  public Map<String, Object> toSpecification() {
+    Map<String, Object> execution = new LinkedHashMap<>();
+    execution.put("resolvers", new ArrayList<>(resolvers));
+
+    Map<String, Object> tracing = new LinkedHashMap<>();
+    tracing.put("version", VERSION);
+    tracing.put("startTime", DateTimeFormatter.ISO_INSTANT.format(startTime));
+    tracing.put("endTime", DateTimeFormatter.ISO_INSTANT.format(Instant.now()));
+    tracing.put("duration", offset());
+    tracing.put("parsing", parsing);
+    tracing.put("validation", validation);
+    tracing.put("execution", execution);
+    return tracing;
+  }
+
+  private static Map<String, Object> timing(long startOffset, long duration) {
+    Map<String, Object> timing = new LinkedHashMap<>();
+    timing.put("startOffset", startOffset);
+    timing.put("duration", duration);
+    return timing;
+  }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.NoOpInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records the timings of an operation into its {@link OperationTracing} and adds them to the
+ * extensions of the result. A new instance is used for each traced operation.
+ */
+public class OperationTracingInstrumentation extends NoOpInstrumentation {
+
+  private final OperationTracing tracing;
+
+  public OperationTracingInstrumentation(OperationTracing tracing) {
+    this.tracing = tracing;
+  }
+
+  @Override
+  public InstrumentationState createState() {
+    return tracing;
+  }
+
+  @Override
+  public InstrumentationContext<Document> beginParse(
+      InstrumentationExecutionParameters parameters) {
+    long startOffset = tracing.offset();
+    return (document, t) -> tracing.recordParsing(startOffset);
+  }
+
+  @Override
+  public InstrumentationContext<List<ValidationError>> beginValidation(
+      InstrumentationValidationParameters parameters) {
+    long startOffset = tracing.offset();
+    return (errors, t) -> tracing.recordValidation(startOffset);
+  }
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters) {
+    long startOffset = tracing.offset();
+    return (result, t) -> tracing.recordResolver(parameters.getEnvironment(), startOffset);
+  }
+
+  @Override
+  public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+      ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+    Map<Object, Object> extensions = new LinkedHashMap<>();
+    if (executionResult.getExtensions() != null) {
+      extensions.putAll(executionResult.getExtensions());
+    }
+    extensions.put(OperationTracing.EXTENSION, tracing.toSpecification());
+
+    return CompletableFuture.completedFuture(
+        new ExecutionResultImpl(
+            executionResult.getData(), executionResult.getErrors(), extensions));
+  }
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Registry of persisted queries identified by the SHA-256 hash of their query text. Clients send
+ * only the hash of a known query and fall back to sending the full query text once when the hash is
+ * not registered yet.
+ *
+ * <p>The registry is bounded so clients cannot grow it indefinitely. Evicted queries are simply
+ * registered again by the client.
+ */
+public class PersistedQueryRegistry {
+
+  private final Cache<String, String> queries;
+
+  public PersistedQueryRegistry(long maxSize) {
+    queries = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  public Optional<String> getQuery(String hash) {
+    return Optional.ofNullable(queries.getIfPresent(hash.toLowerCase()));
+  }
+
+  /**
+   * Registers the query under the hash if the hash matches the query text.
+   *
+   * @return true if the query was registered, false if the hash does not match the query
+   */
+  public boolean register(String hash, String query) {
+    String queryHash = hash(query);
+    if (!queryHash.equalsIgnoreCase(hash)) {
+      return false;
+    }
+
+    queries.put(queryHash, query);
+    return true;
+  }
+
+  public static String hash(String query) {
+    return Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.OperationDefinition;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.codice.ddf.admin.graphql.servlet.request.OperationRequest;
+
+/** An operation of a request, either rejected or admitted with its cost. */
+public class PreparedOperation {
+
+  private final OperationRequest operation;
+
+  private final Map<String, Object> rejection;
+
+  private final PreparsedDocumentEntry document;
+
+  private final QueryCost cost;
+
+  private final OperationTracing tracing;
+
+  private PreparedOperation(
+      OperationRequest operation,
+      Map<String, Object> rejection,
+      PreparsedDocumentEntry document,
+      QueryCost cost,
+      OperationTracing tracing) {
+    this.operation = operation;
+    this.rejection = rejection;
+    this.document = document;
+    this.cost = cost;
+    this.tracing = tracing;
+  }
+
+  public static PreparedOperation admitted(
+      OperationRequest operation,
+      PreparsedDocumentEntry document,
+      QueryCost cost,
+      OperationTracing tracing) {
+    return new PreparedOperation(operation, null, document, cost, tracing);
+  }
+
+  public static PreparedOperation rejected(
+      OperationRequest operation, Map<String, Object> rejection) {
+    return new PreparedOperation(operation, rejection, null, QueryCost.NONE, null);
+  }
+
+  public OperationRequest getOperation() {
+    return operation;
+  }
+
+  /** @return the result to respond with instead of executing the operation, or null */
+  public Map<String, Object> getRejection() {
+    return rejection;
+  }
+
+  /** @return the parsed and validated document of the operation, or null if it has no query */
+  public PreparsedDocumentEntry getDocument() {
+    return document;
+  }
+
+  public int getCost() {
+    return cost.getCost();
+  }
+
+  /** @return the tracing of the operation, or null if the operation is not traced */
+  public OperationTracing getTracing() {
+    return tracing;
+  }
+
+  /**
+   * @return whether the operation is a mutation, which must not execute concurrently with the other
+   *     operations of its batch
+   */
+  public boolean isMutation() {
+    if (document == null || document.hasErrors()) {
+      return false;
+    }
+
+    List<OperationDefinition> definitions =
+        document
+            .getDocument()
+            .getDefinitions()
+            .stream()
+            .filter(OperationDefinition.class::isInstance)
+            .map(OperationDefinition.class::cast)
+            .collect(Collectors.toList());
+    String operationName = operation.getOperationName();
+    return definitions
+        .stream()
+        .filter(
+            definition ->
+                operationName == null
+                    ? definitions.size() == 1
+                    : operationName.equals(definition.getName()))
+        .anyMatch(
+            definition -> definition.getOperation() == OperationDefinition.Operation.MUTATION);
+  }
+}
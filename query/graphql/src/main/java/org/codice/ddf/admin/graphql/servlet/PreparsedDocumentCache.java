@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.schema.GraphQLSchema;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of parsed and validated GraphQL documents. Entries are keyed by the query text
+ * and the schema the document was validated against, so a document validated against one schema is
+ * never used with another.
+ */
+public class PreparsedDocumentCache {
+
+  private final Cache<DocumentKey, PreparsedDocumentEntry> cache;
+
+  public PreparsedDocumentCache(long maxSize) {
+    cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+  }
+
+  /**
+   * @param schema schema the documents will be validated against
+   * @return a provider that caches the documents of the {@code schema}
+   */
+  public PreparsedDocumentProvider forSchema(GraphQLSchema schema) {
+    return (query, parseAndValidate) -> get(schema, query, parseAndValidate);
+  }
+
+  public PreparsedDocumentEntry get(
+      GraphQLSchema schema,
+      String query,
+      Function<String, PreparsedDocumentEntry> parseAndValidate) {
+    try {
+      return cache.get(new DocumentKey(schema, query), () -> parseAndValidate.apply(query));
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Removes all cached documents. Should be called whenever the schema is replaced. */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  public long getHitCount() {
+    return cache.stats().hitCount();
+  }
+
+  public long getMissCount() {
+    return cache.stats().missCount();
+  }
+
+  private static class DocumentKey {
+
+    private final GraphQLSchema schema;
+
+    private final String query;
+
+    private final int hashCode;
+
+    DocumentKey(GraphQLSchema schema, String query) {
+      this.schema = schema;
+      this.query = query;
+      this.hashCode = 31 * System.identityHashCode(schema) + Objects.hashCode(query);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DocumentKey)) {
+        return false;
+      }
+      DocumentKey that = (DocumentKey) o;
+      return schema == that.schema && Objects.equals(query, that.query);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
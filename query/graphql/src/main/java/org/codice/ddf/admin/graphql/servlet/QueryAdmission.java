@@ -0,0 +1,317 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import static org.codice.ddf.admin.graphql.servlet.ExtendedOsgiGraphQLServlet.createErrorResult;
+
+import graphql.GraphQL;
+import graphql.InvalidSyntaxError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationError;
+import graphql.validation.Validator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
+import org.codice.ddf.admin.graphql.servlet.request.OperationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Decides which operations of a request may execute. Operations are rejected when their persisted
+ * query cannot be resolved or when they exceed the query cost limits, and requests are only
+ * admitted while the query cost budget can cover their total cost.
+ */
+public class QueryAdmission {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(QueryAdmission.class);
+
+  private static final long PERSISTED_QUERY_REGISTRY_SIZE = 1024;
+
+  private static final int DEFAULT_MAX_QUERY_COST = 100;
+
+  // Deep enough for the introspection query
+  private static final int DEFAULT_MAX_QUERY_DEPTH = 15;
+
+  private static final int DEFAULT_MAX_QUERY_ALIASES = 50;
+
+  private static final int DEFAULT_QUERY_COST_BUDGET = 100;
+
+  private static final long DEFAULT_QUERY_COST_BUDGET_WAIT_IN_MILLIS = 1000;
+
+  // Requests cheaper than a single network probe do not count against the query cost budget
+  private static final int EXPENSIVE_QUERY_COST = BaseFunctionField.NETWORK_PROBE_COST;
+
+  private static final Map<String, Object> PERSISTED_QUERY_NOT_FOUND_RESULT =
+      createErrorResult("PersistedQueryNotFound");
+
+  private static final Map<String, Object> PERSISTED_QUERY_HASH_MISMATCH_RESULT =
+      createErrorResult("provided sha does not match query");
+
+  private final PreparsedDocumentCache documentCache;
+
+  private final PersistedQueryRegistry persistedQueries;
+
+  private QueryCostBudget queryCostBudget;
+
+  private long queryCostBudgetWaitMillis;
+
+  private int maxQueryCost;
+
+  private int maxQueryDepth;
+
+  private int maxQueryAliases;
+
+  /** @param documentCache cache of the documents, shared with the execution of the operations */
+  public QueryAdmission(PreparsedDocumentCache documentCache) {
+    this.documentCache = documentCache;
+    persistedQueries = new PersistedQueryRegistry(PERSISTED_QUERY_REGISTRY_SIZE);
+    queryCostBudget = new QueryCostBudget(DEFAULT_QUERY_COST_BUDGET);
+    queryCostBudgetWaitMillis = DEFAULT_QUERY_COST_BUDGET_WAIT_IN_MILLIS;
+    maxQueryCost = DEFAULT_MAX_QUERY_COST;
+    maxQueryDepth = DEFAULT_MAX_QUERY_DEPTH;
+    maxQueryAliases = DEFAULT_MAX_QUERY_ALIASES;
+  }
+
+  /**
+   * Resolves the query of a persisted query and checks the operation against the query cost limits.
+   *
+   * @param tracing tracing of the operation, or null if the operation is not traced
+   * @return the operation, rejected with an error result if it must not be executed
+   */
+  public PreparedOperation prepare(
+      GraphQLSchema schema, OperationRequest operation, OperationTracing tracing) {
+    Optional<Map<String, Object>> persistedQueryError = resolvePersistedQuery(operation);
+    if (persistedQueryError.isPresent()) {
+      return PreparedOperation.rejected(operation, persistedQueryError.get());
+    }
+
+    // Parsed and validated once, both for the cost analysis and the execution of the operation
+    PreparsedDocumentEntry document =
+        operation.getQuery() == null
+            ? null
+            : documentCache.get(
+                schema, operation.getQuery(), query -> parseAndValidate(schema, query, tracing));
+
+    QueryCost cost = analyzeQueryCost(schema, operation, document);
+    if (cost.getCost() > maxQueryCost) {
+      return PreparedOperation.rejected(
+          operation,
+          createErrorResult(
+              String.format(
+                  "Query cost of %d exceeds the maximum query cost of %d.",
+                  cost.getCost(), maxQueryCost)));
+    }
+
+    if (cost.getDepth() > maxQueryDepth) {
+      return PreparedOperation.rejected(
+          operation,
+          createErrorResult(
+              String.format(
+                  "Query depth of %d exceeds the maximum query depth of %d.",
+                  cost.getDepth(), maxQueryDepth)));
+    }
+
+    if (cost.getAliases() > maxQueryAliases) {
+      return PreparedOperation.rejected(
+          operation,
+          createErrorResult(
+              String.format(
+                  "Query with %d aliases exceeds the maximum of %d aliases.",
+                  cost.getAliases(), maxQueryAliases)));
+    }
+
+    return PreparedOperation.admitted(operation, document, cost, tracing);
+  }
+
+  /**
+   * Acquires the total cost of the {@code operations} from the query cost budget, waiting for
+   * executing requests to give back enough of the budget if needed.
+   *
+   * @return the acquired cost, to be released once the response is written, or empty if the budget
+   *     is exhausted
+   */
+  public Optional<QueryCostBudget.Permit> acquire(List<PreparedOperation> operations) {
+    int cost = operations.stream().mapToInt(PreparedOperation::getCost).sum();
+    try {
+      return queryCostBudget.tryAcquire(
+          cost < EXPENSIVE_QUERY_COST ? 0 : cost, queryCostBudgetWaitMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      LOGGER.debug("Interrupted while waiting on the query cost budget.", e);
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Analyzes the cost of the operation. Operations that fail to parse or validate have no cost
+   * since they fail without executing.
+   *
+   * @param document parsed and validated document of the operation, or null if it has no query
+   */
+  private QueryCost analyzeQueryCost(
+      GraphQLSchema schema, OperationRequest operation, PreparsedDocumentEntry document) {
+    if (document == null || document.hasErrors()) {
+      return QueryCost.NONE;
+    }
+
+    try {
+      return QueryCost.analyze(
+          schema, document.getDocument(), operation.getOperationName(), operation.getVariables());
+    } catch (RuntimeException e) {
+      // Such as an unknown operation name, which also fails the execution
+      LOGGER.debug("Unable to analyze the cost of the GraphQL query.", e);
+      return QueryCost.NONE;
+    }
+  }
+
+  /**
+   * Parses and validates the {@code query} the same way {@link GraphQL} does, recording the timings
+   * into the {@code tracing} if not null.
+   */
+  private static PreparsedDocumentEntry parseAndValidate(
+      GraphQLSchema schema, String query, OperationTracing tracing) {
+    long parsingOffset = tracing == null ? 0 : tracing.offset();
+    Document document;
+    try {
+      document = new Parser().parseDocument(query);
+    } catch (ParseCancellationException e) {
+      return new PreparsedDocumentEntry(InvalidSyntaxError.toInvalidSyntaxError(e));
+    } finally {
+      if (tracing != null) {
+        tracing.recordParsing(parsingOffset);
+      }
+    }
+
+    long validationOffset = tracing == null ? 0 : tracing.offset();
+    List<ValidationError> errors = new Validator().validateDocument(schema, document);
+    if (tracing != null) {
+      tracing.recordValidation(validationOffset);
+    }
+
+    return errors.isEmpty()
+        ? new PreparsedDocumentEntry(document)
+        : new PreparsedDocumentEntry(errors);
+  }
+
+  private Optional<Map<String, Object>> resolvePersistedQuery(OperationRequest operation) {
+    String hash = operation.getPersistedQueryHash();
+    if (hash == null) {
+      return Optional.empty();
+    }
+
+    if (operation.getQuery() == null) {
+      Optional<String> query = persistedQueries.getQuery(hash);
+      if (!query.isPresent()) {
+        return Optional.of(PERSISTED_QUERY_NOT_FOUND_RESULT);
+      }
+      operation.setQuery(query.get());
+    } else if (!persistedQueries.register(hash, operation.getQuery())) {
+      return Optional.of(PERSISTED_QUERY_HASH_MISMATCH_RESULT);
+    }
+
+    return Optional.empty();
+  }
+
+  /**
+   * Sets the maximum cost of an operation. The cost of an operation is the sum of the costs of the
+   * functions it invokes.
+   *
+   * @param maxQueryCost maximum cost, must be greater than 0
+   */
+  public void setMaxQueryCost(int maxQueryCost) {
+    if (maxQueryCost < 1) {
+      LOGGER.debug(
+          "Invalid maximum query cost [{}]. Keeping current maximum of [{}].",
+          maxQueryCost,
+          this.maxQueryCost);
+      return;
+    }
+
+    this.maxQueryCost = maxQueryCost;
+  }
+
+  /**
+   * Sets the maximum depth of the fields of an operation.
+   *
+   * @param maxQueryDepth maximum depth, must be greater than 0
+   */
+  public void setMaxQueryDepth(int maxQueryDepth) {
+    if (maxQueryDepth < 1) {
+      LOGGER.debug(
+          "Invalid maximum query depth [{}]. Keeping current maximum of [{}].",
+          maxQueryDepth,
+          this.maxQueryDepth);
+      return;
+    }
+
+    this.maxQueryDepth = maxQueryDepth;
+  }
+
+  /**
+   * Sets the maximum number of aliased fields of an operation.
+   *
+   * @param maxQueryAliases maximum number of aliases, must not be negative
+   */
+  public void setMaxQueryAliases(int maxQueryAliases) {
+    if (maxQueryAliases < 0) {
+      LOGGER.debug(
+          "Invalid maximum query aliases [{}]. Keeping current maximum of [{}].",
+          maxQueryAliases,
+          this.maxQueryAliases);
+      return;
+    }
+
+    this.maxQueryAliases = maxQueryAliases;
+  }
+
+  /**
+   * Sets the total cost of the expensive requests allowed to execute at the same time. Requests
+   * exceeding the budget are not admitted.
+   *
+   * @param queryCostBudget total cost, must be greater than 0
+   */
+  public void setQueryCostBudget(int queryCostBudget) {
+    if (queryCostBudget < 1) {
+      LOGGER.debug("Invalid query cost budget [{}]. Keeping current budget.", queryCostBudget);
+      return;
+    }
+
+    // Requests executing against the current budget give their cost back to it
+    this.queryCostBudget = new QueryCostBudget(queryCostBudget);
+  }
+
+  /**
+   * Sets how long a request waits for executing requests to give back enough of the query cost
+   * budget before it is rejected.
+   *
+   * @param queryCostBudgetWaitMillis time to wait in milliseconds, must not be negative
+   */
+  public void setQueryCostBudgetWaitMillis(long queryCostBudgetWaitMillis) {
+    if (queryCostBudgetWaitMillis < 0) {
+      LOGGER.debug(
+          "Invalid query cost budget wait [{}]. Keeping current wait of [{}] milliseconds.",
+          queryCostBudgetWaitMillis,
+          this.queryCostBudgetWaitMillis);
+      return;
+    }
+
+    this.queryCostBudgetWaitMillis = queryCostBudgetWaitMillis;
+  }
+}
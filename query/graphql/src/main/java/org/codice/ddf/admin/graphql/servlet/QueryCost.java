@@ -0,0 +1,95 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import graphql.analysis.QueryTraversal;
+import graphql.analysis.QueryVisitorEnvironment;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import java.util.Map;
+import org.codice.ddf.admin.graphql.transform.FunctionDataFetcher;
+
+/**
+ * Static cost of a GraphQL operation, computed from the parsed document before it executes. The
+ * cost of an operation is the sum of the costs of the functions it invokes, so every alias of a
+ * function adds the function's cost again.
+ */
+public class QueryCost {
+
+  public static final QueryCost NONE = new QueryCost(0, 0, 0);
+
+  private final int cost;
+
+  private final int depth;
+
+  private final int aliases;
+
+  private QueryCost(int cost, int depth, int aliases) {
+    this.cost = cost;
+    this.depth = depth;
+    this.aliases = aliases;
+  }
+
+  /**
+   * @param schema schema the {@code document} was validated against
+   * @param document valid document containing the operation
+   * @param operationName name of the operation to analyze, or null if the document contains a
+   *     single operation
+   * @param variables variables of the operation
+   * @return the cost of the operation
+   */
+  public static QueryCost analyze(
+      GraphQLSchema schema,
+      Document document,
+      String operationName,
+      Map<String, Object> variables) {
+    return new QueryTraversal(schema, document, operationName, variables)
+        .reducePreOrder(QueryCost::add, NONE);
+  }
+
+  private static QueryCost add(QueryVisitorEnvironment env, QueryCost total) {
+    int fieldCost = 0;
+    if (env.getFieldDefinition().getDataFetcher() instanceof FunctionDataFetcher) {
+      fieldCost =
+          ((FunctionDataFetcher) env.getFieldDefinition().getDataFetcher()).getFunction().getCost();
+    }
+
+    int fieldDepth = 0;
+    for (QueryVisitorEnvironment parent = env;
+        parent != null;
+        parent = parent.getParentEnvironment()) {
+      fieldDepth++;
+    }
+
+    return new QueryCost(
+        total.cost + fieldCost,
+        Math.max(total.depth, fieldDepth),
+        total.aliases + (env.getField().getAlias() == null ? 0 : 1));
+  }
+
+  /** @return the sum of the costs of the functions invoked by the operation */
+  public int getCost() {
+    return cost;
+  }
+
+  /** @return the depth of the most deeply nested field of the operation */
+  public int getDepth() {
+    return depth;
+  }
+
+  /** @return the number of aliased fields of the operation */
+  public int getAliases() {
+    return aliases;
+  }
+}
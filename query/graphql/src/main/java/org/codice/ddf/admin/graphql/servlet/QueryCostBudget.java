@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limits the total cost of the operations executing at the same time. Each request acquires its
+ * cost from the budget before executing and gives it back once its response is written, so a client
+ * flooding the server with expensive operations is turned away instead of exhausting the hosts the
+ * operations connect to.
+ */
+public class QueryCostBudget {
+
+  private final int capacity;
+
+  private final Semaphore available;
+
+  public QueryCostBudget(int capacity) {
+    this.capacity = capacity;
+    available = new Semaphore(capacity, true);
+  }
+
+  /**
+   * Acquires the {@code cost} from the budget, waiting up to the {@code timeout} for executing
+   * requests to give back enough of it. A cost higher than the whole budget waits for the whole
+   * budget instead, so that it can still execute on its own.
+   *
+   * @return the acquired cost, to be released once the request completes, or empty if not enough of
+   *     the budget was given back in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public Optional<Permit> tryAcquire(int cost, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    int permits = Math.min(cost, capacity);
+    if (permits <= 0) {
+      return Optional.of(new Permit(0));
+    }
+
+    return available.tryAcquire(permits, timeout, unit)
+        ? Optional.of(new Permit(permits))
+        : Optional.empty();
+  }
+
+  /** @return the part of the budget not currently acquired */
+  public int getAvailable() {
+    return available.availablePermits();
+  }
+
+  public class Permit {
+
+    private final int permits;
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private Permit(int permits) {
+      this.permits = permits;
+    }
+
+    /** Gives the cost back to the budget. Releasing a permit more than once has no effect. */
+    public void release() {
+      if (permits > 0 && released.compareAndSet(false, true)) {
+        available.release(permits);
+      }
+    }
+  }
+}
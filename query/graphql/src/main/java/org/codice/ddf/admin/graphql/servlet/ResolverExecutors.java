@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Owns the executors used to resolve the function fields of GraphQL queries and mutations. The
+ * executors are created once started and only replaced afterwards when one of their properties
+ * changes.
+ *
+ * <ul>
+ *   <li>{@value #INLINE} resolves fields on the thread executing the operation
+ *   <li>{@value #FIXED} resolves fields on a fixed size thread pool
+ *   <li>{@value #WORK_STEALING} resolves fields on a work-stealing pool
+ *   <li>{@value #VIRTUAL} resolves each field on a new virtual thread when the JDK supports it and
+ *       falls back to {@value #WORK_STEALING} otherwise
+ * </ul>
+ */
+public class ResolverExecutors {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResolverExecutors.class);
+
+  public static final String INLINE = "inline";
+
+  public static final String FIXED = "fixed";
+
+  public static final String WORK_STEALING = "work-stealing";
+
+  public static final String VIRTUAL = "virtual";
+
+  private static final int DEFAULT_POOL_SIZE = 10;
+
+  private final BiConsumer<Executor, Executor> listener;
+
+  private String queryExecutorType = INLINE;
+
+  private String mutationExecutorType = INLINE;
+
+  private int poolSize = DEFAULT_POOL_SIZE;
+
+  private boolean started;
+
+  private ExecutorService queryExecutor;
+
+  private ExecutorService mutationExecutor;
+
+  /**
+   * @param listener called with the query and mutation executors, or null for the ones resolving
+   *     fields inline, each time the executors are replaced
+   */
+  public ResolverExecutors(BiConsumer<Executor, Executor> listener) {
+    this.listener = listener;
+  }
+
+  /** Creates the executors, unless they were already started. */
+  public synchronized void start() {
+    if (!started) {
+      started = true;
+      replaceExecutors();
+    }
+  }
+
+  /** Shuts the executors down. Fields that are being resolved finish first. */
+  public synchronized void shutdown() {
+    shutdown(queryExecutor);
+    shutdown(mutationExecutor);
+  }
+
+  /** @param type executor type of the query fields */
+  public synchronized void setQueryExecutorType(String type) {
+    if (!isSupported(type)) {
+      LOGGER.debug(
+          "Invalid query resolver executor [{}]. Keeping current executor [{}].",
+          type,
+          queryExecutorType);
+      return;
+    }
+
+    if (!type.equals(queryExecutorType)) {
+      queryExecutorType = type;
+      restart();
+    }
+  }
+
+  /** @param type executor type of the mutation fields */
+  public synchronized void setMutationExecutorType(String type) {
+    if (!isSupported(type)) {
+      LOGGER.debug(
+          "Invalid mutation resolver executor [{}]. Keeping current executor [{}].",
+          type,
+          mutationExecutorType);
+      return;
+    }
+
+    if (!type.equals(mutationExecutorType)) {
+      mutationExecutorType = type;
+      restart();
+    }
+  }
+
+  /** @param poolSize number of threads of the fixed and work-stealing pools, greater than 0 */
+  public synchronized void setPoolSize(int poolSize) {
+    if (poolSize < 1) {
+      LOGGER.debug(
+          "Invalid resolver thread pool size [{}]. Keeping current size of [{}].",
+          poolSize,
+          this.poolSize);
+      return;
+    }
+
+    if (poolSize != this.poolSize) {
+      this.poolSize = poolSize;
+      restart();
+    }
+  }
+
+  /** @return the executor of the query fields, or null if they are resolved inline */
+  public synchronized Executor getQueryExecutor() {
+    return queryExecutor;
+  }
+
+  /** @return the executor of the mutation fields, or null if they are resolved inline */
+  public synchronized Executor getMutationExecutor() {
+    return mutationExecutor;
+  }
+
+  /** @return whether the type is one of the executor types */
+  public static boolean isSupported(String type) {
+    return INLINE.equals(type)
+        || FIXED.equals(type)
+        || WORK_STEALING.equals(type)
+        || VIRTUAL.equals(type);
+  }
+
+  private void restart() {
+    if (started) {
+      replaceExecutors();
+    }
+  }
+
+  private void replaceExecutors() {
+    ExecutorService previousQueryExecutor = queryExecutor;
+    ExecutorService previousMutationExecutor = mutationExecutor;
+
+    queryExecutor = create(queryExecutorType, poolSize, "graphql-query-%d");
+    mutationExecutor = create(mutationExecutorType, poolSize, "graphql-mutation-%d");
+    listener.accept(queryExecutor, mutationExecutor);
+
+    // Fields that are already being resolved finish on the previous executors
+    shutdown(previousQueryExecutor);
+    shutdown(previousMutationExecutor);
+  }
+
+  /** @return the executor, or null if fields should be resolved inline */
+  private static ExecutorService create(String type, int poolSize, String threadNameFormat) {
+    switch (type) {
+      case FIXED:
+        return Executors.newFixedThreadPool(
+            poolSize,
+            new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build());
+      case WORK_STEALING:
+        return Executors.newWorkStealingPool(poolSize);
+      case VIRTUAL:
+        return newVirtualThreadPerTaskExecutor(poolSize);
+      default:
+        return null;
+    }
+  }
+
+  // Looked up reflectively since virtual threads are only available on newer JDKs
+  private static ExecutorService newVirtualThreadPerTaskExecutor(int fallbackPoolSize) {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+      LOGGER.debug(
+          "Virtual threads are not supported by this JDK. Falling back to a work-stealing pool.",
+          e);
+      return Executors.newWorkStealingPool(fallbackPoolSize);
+    }
+  }
+
+  private static void shutdown(ExecutorService executor) {
+    if (executor != null) {
+      executor.shutdown();
+    }
+  }
+}
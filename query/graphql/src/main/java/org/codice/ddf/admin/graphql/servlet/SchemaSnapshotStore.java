@@ -0,0 +1,190 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.FieldWiringEnvironment;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.SchemaPrinter;
+import graphql.schema.idl.TypeDefinitionRegistry;
+import graphql.schema.idl.WiringFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import org.codice.ddf.admin.common.report.message.ErrorMessageImpl;
+import org.codice.ddf.admin.graphql.transform.FunctionDataFetcherException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Saves the published schema to disk so that, after a restart, introspection requests such as the
+ * ones of the UI bootstrap can be served before the field providers are bound and transformed
+ * again. The snapshot contains the schema in the GraphQL schema definition language.
+ *
+ * <p>The schema loaded from a snapshot has no field providers behind it. Introspection is answered
+ * from the snapshot, while every other field fails with the {@link #SCHEMA_LOADING} error code.
+ */
+public class SchemaSnapshotStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaSnapshotStore.class);
+
+  public static final String SCHEMA_LOADING = "SCHEMA_LOADING";
+
+  private static final int SNAPSHOT_VERSION = 1;
+
+  private static final String VERSION = "version";
+
+  private static final String SCHEMA = "schema";
+
+  private static final SchemaPrinter SCHEMA_PRINTER =
+      new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeScalarTypes(true));
+
+  private final Path snapshotFile;
+
+  private final ObjectMapper mapper;
+
+  private String savedSchema;
+
+  public SchemaSnapshotStore(Path snapshotFile, ObjectMapper mapper) {
+    this.snapshotFile = snapshotFile;
+    this.mapper = mapper;
+  }
+
+  /** @return the saved snapshot, or empty if there is none or it cannot be read */
+  public Optional<Snapshot> load() {
+    if (!Files.isRegularFile(snapshotFile)) {
+      return Optional.empty();
+    }
+
+    try {
+      Map<?, ?> content = mapper.readValue(snapshotFile.toFile(), Map.class);
+      if (!Objects.equals(content.get(VERSION), SNAPSHOT_VERSION)
+          || !(content.get(SCHEMA) instanceof String)) {
+        LOGGER.debug("Ignoring GraphQL schema snapshot {} with unknown format.", snapshotFile);
+        return Optional.empty();
+      }
+
+      String sdl = (String) content.get(SCHEMA);
+      Snapshot snapshot = new Snapshot(toSchema(sdl));
+      savedSchema = sdl;
+      return Optional.of(snapshot);
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Unable to load GraphQL schema snapshot {}.", snapshotFile, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Replaces the saved snapshot, unless it already contains the same schema.
+   *
+   * @param schema schema to save
+   */
+  public void save(GraphQLSchema schema) {
+    String sdl = SCHEMA_PRINTER.print(schema);
+    if (sdl.equals(savedSchema)) {
+      return;
+    }
+
+    Map<String, Object> content = new LinkedHashMap<>();
+    content.put(VERSION, SNAPSHOT_VERSION);
+    content.put(SCHEMA, sdl);
+
+    try {
+      Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+      // Written next to the snapshot and then moved over it so that a crash cannot leave a
+      // partially written snapshot behind
+      Path tempFile =
+          Files.createTempFile(
+              snapshotFile.toAbsolutePath().getParent(),
+              snapshotFile.getFileName().toString(),
+              ".tmp");
+      try {
+        mapper.writeValue(tempFile.toFile(), content);
+        Files.move(
+            tempFile,
+            snapshotFile,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+
+      savedSchema = sdl;
+    } catch (IOException e) {
+      LOGGER.debug("Unable to save GraphQL schema snapshot {}.", snapshotFile, e);
+    }
+  }
+
+  private static GraphQLSchema toSchema(String sdl) {
+    TypeDefinitionRegistry registry = new SchemaParser().parse(sdl);
+
+    // Values of the custom scalars are only read by introspection, which never coerces them
+    RuntimeWiring.Builder wiring =
+        RuntimeWiring.newRuntimeWiring().wiringFactory(new LoadingWiring());
+    registry
+        .scalars()
+        .keySet()
+        .stream()
+        .filter(name -> !ScalarInfo.STANDARD_SCALAR_DEFINITIONS.containsKey(name))
+        .forEach(
+            name ->
+                wiring.scalar(
+                    new GraphQLScalarType(name, null, Scalars.GraphQLString.getCoercing())));
+
+    return new SchemaGenerator().makeExecutableSchema(registry, wiring.build());
+  }
+
+  public static class Snapshot {
+
+    private final GraphQLSchema schema;
+
+    private Snapshot(GraphQLSchema schema) {
+      this.schema = schema;
+    }
+
+    public GraphQLSchema getSchema() {
+      return schema;
+    }
+  }
+
+  private static class LoadingWiring implements WiringFactory {
+
+    private static final DataFetcher LOADING_DATA_FETCHER =
+        env -> {
+          throw new FunctionDataFetcherException(
+              env.getFields().get(0).getName(),
+              Collections.emptyList(),
+              Collections.singletonList(
+                  new ErrorMessageImpl(SCHEMA_LOADING, env.getFieldTypeInfo().getPath().toList())));
+        };
+
+    @Override
+    public DataFetcher getDefaultDataFetcher(FieldWiringEnvironment environment) {
+      return LOADING_DATA_FETCHER;
+    }
+  }
+}
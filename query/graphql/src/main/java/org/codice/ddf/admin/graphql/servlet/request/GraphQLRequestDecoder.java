@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet.request;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decodes the body of a GraphQL POST request in a single pass over the input stream. The body may
+ * either be a single operation or an array of operations.
+ *
+ * <p>Instances are thread safe and meant to be shared between requests.
+ */
+public class GraphQLRequestDecoder {
+
+  private final ObjectReader operationReader;
+
+  private final int maxBatchSize;
+
+  /**
+   * @param mapper mapper used to create the shared reader
+   * @param maxBatchSize maximum amount of operations in a batch. Decoding stops once a batch is
+   *     known to exceed this size.
+   */
+  public GraphQLRequestDecoder(ObjectMapper mapper, int maxBatchSize) {
+    this.operationReader = mapper.readerFor(OperationRequest.class);
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * @param inputStream request body
+   * @return the decoded request. If the request is a batch larger than the max batch size, only the
+   *     first {@code maxBatchSize + 1} operations are decoded.
+   * @throws IOException if the body is empty or is not a valid GraphQL request
+   */
+  public DecodedRequest decode(InputStream inputStream) throws IOException {
+    List<OperationRequest> operations = new ArrayList<>();
+
+    try (JsonParser parser = operationReader.getFactory().createParser(inputStream)) {
+      JsonToken token = parser.nextToken();
+
+      if (token == JsonToken.START_ARRAY) {
+        while (parser.nextToken() != JsonToken.END_ARRAY && operations.size() <= maxBatchSize) {
+          operations.add(readOperation(parser));
+        }
+        return new DecodedRequest(true, operations);
+      }
+
+      operations.add(readOperation(parser));
+      return new DecodedRequest(false, operations);
+    }
+  }
+
+  private OperationRequest readOperation(JsonParser parser) throws IOException {
+    if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+      throw new IOException(
+          "Expected a GraphQL request object but found " + parser.getCurrentToken());
+    }
+    return operationReader.readValue(parser);
+  }
+
+  public static class DecodedRequest {
+
+    private final boolean batch;
+
+    private final List<OperationRequest> operations;
+
+    public DecodedRequest(boolean batch, List<OperationRequest> operations) {
+      this.batch = batch;
+      this.operations = operations;
+    }
+
+    public boolean isBatch() {
+      return batch;
+    }
+
+    public List<OperationRequest> getOperations() {
+      return operations;
+    }
+  }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.servlet.request;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/** A single GraphQL operation of a possibly batched request. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OperationRequest {
+
+  public static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+  public static final String SHA256_HASH = "sha256Hash";
+
+  private String query;
+
+  private String operationName;
+
+  @JsonDeserialize(using = VariablesDeserializer.class)
+  private Map<String, Object> variables = Collections.emptyMap();
+
+  private Map<String, Object> extensions = Collections.emptyMap();
+
+  public String getQuery() {
+    return query;
+  }
+
+  public void setQuery(String query) {
+    this.query = query;
+  }
+
+  /** @return the operation name, or null if absent or empty */
+  public String getOperationName() {
+    return operationName == null || operationName.isEmpty() ? null : operationName;
+  }
+
+  public void setOperationName(String operationName) {
+    this.operationName = operationName;
+  }
+
+  public Map<String, Object> getVariables() {
+    return variables;
+  }
+
+  public void setVariables(Map<String, Object> variables) {
+    this.variables = variables == null ? Collections.emptyMap() : variables;
+  }
+
+  public Map<String, Object> getExtensions() {
+    return extensions;
+  }
+
+  public void setExtensions(Map<String, Object> extensions) {
+    this.extensions = extensions == null ? Collections.emptyMap() : extensions;
+  }
+
+  /**
+   * @return the SHA-256 hash of the query from the {@code persistedQuery} extension, or null if the
+   *     operation does not reference a persisted query
+   */
+  public String getPersistedQueryHash() {
+    Object persistedQuery = extensions.get(PERSISTED_QUERY_EXTENSION);
+    if (!(persistedQuery instanceof Map)) {
+      return null;
+    }
+
+    Object hash = ((Map<?, ?>) persistedQuery).get(SHA256_HASH);
+    return hash instanceof String ? (String) hash : null;
+  }
+
+  /** Accepts the variables either as a JSON object or as a string containing a JSON object. */
+  public static class VariablesDeserializer extends JsonDeserializer<Map<String, Object>> {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> deserialize(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+      if (p.getCurrentToken() == JsonToken.VALUE_STRING) {
+        String variables = p.getText();
+        if (variables.trim().isEmpty()) {
+          return Collections.emptyMap();
+        }
+
+        try (JsonParser variablesParser = p.getCodec().getFactory().createParser(variables)) {
+          return p.getCodec().readValue(variablesParser, Map.class);
+        }
+      }
+
+      return p.readValueAs(Map.class);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.transform;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionField;
+
+/**
+ * Fetches the result of a {@link FunctionField}. Function fields are the only fields that do any
+ * real work, such as reading configurations or connecting to remote hosts, so execution strategies
+ * can recognize them to resolve them off the calling thread.
+ */
+public class FunctionDataFetcher implements DataFetcher<Object> {
+
+  private final GraphQLTransformOutput transformOutput;
+
+  private final FunctionField<Field> function;
+
+  public FunctionDataFetcher(
+      GraphQLTransformOutput transformOutput, FunctionField<Field> function) {
+    this.transformOutput = transformOutput;
+    this.function = function;
+  }
+
+  @Override
+  public Object get(DataFetchingEnvironment environment) {
+    return transformOutput.functionDataFetcher(environment, function);
+  }
+
+  public FunctionField<Field> getFunction() {
+    return function;
+  }
+}
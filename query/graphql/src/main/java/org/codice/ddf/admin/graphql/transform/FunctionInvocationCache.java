@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.transform;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.Cancellation;
+import org.codice.ddf.admin.api.fields.FieldSelection;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.report.FunctionReport;
+
+/**
+ * Request scoped cache of function invocations. Invocations of the same function with the same
+ * arguments and field selection within a request, such as aliases of a function or the same
+ * function called by several operations of a batch, execute the function once and share its report.
+ *
+ * <p>Reports with errors are only shared with invocations at the same path, since the paths of the
+ * error messages are relative to the path of the invocation.
+ *
+ * <p>The functions are executed with the cancellation of the request, so that they stop once the
+ * request is abandoned.
+ */
+public class FunctionInvocationCache {
+
+  public static final String REQUEST_ATTRIBUTE = FunctionInvocationCache.class.getName();
+
+  private final Map<InvocationKey, CompletableFuture<Invocation>> invocations =
+      new ConcurrentHashMap<>();
+
+  private final Cancellation cancellation;
+
+  public FunctionInvocationCache() {
+    this(Cancellation.NONE);
+  }
+
+  /** @param cancellation deadline and cancellation of the request */
+  public FunctionInvocationCache(Cancellation cancellation) {
+    this.cancellation = cancellation;
+  }
+
+  /**
+   * Executes the function unless an identical invocation already executed or is executing, in which
+   * case that invocation's result is returned once available.
+   */
+  public Invocation invoke(
+      FunctionField<Field> function,
+      Map<String, Object> args,
+      FieldSelection selection,
+      List<Object> path) {
+    InvocationKey key = new InvocationKey(function, args, selection);
+    CompletableFuture<Invocation> invocation = new CompletableFuture<>();
+    CompletableFuture<Invocation> existing = invocations.putIfAbsent(key, invocation);
+
+    if (existing == null) {
+      try {
+        invocation.complete(Invocation.execute(function, args, selection, cancellation, path));
+      } catch (RuntimeException e) {
+        invocations.remove(key, invocation);
+        invocation.completeExceptionally(e);
+        throw e;
+      }
+      return invocation.join();
+    }
+
+    Invocation shared;
+    try {
+      shared = existing.join();
+    } catch (CompletionException e) {
+      return Invocation.execute(function, args, selection, cancellation, path);
+    }
+
+    if (shared.hasErrors() && !shared.getPath().equals(path)) {
+      return Invocation.execute(function, args, selection, cancellation, path);
+    }
+
+    return shared;
+  }
+
+  /** @return the deadline and cancellation of the request */
+  public Cancellation getCancellation() {
+    return cancellation;
+  }
+
+  /** Removes all the invocations, e.g. after a mutation changed what the functions return. */
+  public void clear() {
+    invocations.clear();
+  }
+
+  public static class Invocation {
+
+    private final FunctionField<Field> function;
+
+    private final FunctionReport<Field> report;
+
+    private final List<Object> path;
+
+    private Invocation(
+        FunctionField<Field> function, FunctionReport<Field> report, List<Object> path) {
+      this.function = function;
+      this.report = report;
+      this.path = path;
+    }
+
+    /** Executes a new instance of the function. */
+    public static Invocation execute(
+        FunctionField<Field> function,
+        Map<String, Object> args,
+        FieldSelection selection,
+        Cancellation cancellation,
+        List<Object> path) {
+      FunctionField<Field> instance = function.newInstance();
+      return new Invocation(instance, instance.execute(args, path, selection, cancellation), path);
+    }
+
+    /** @return the function instance that was executed */
+    public FunctionField<Field> getFunction() {
+      return function;
+    }
+
+    public FunctionReport<Field> getReport() {
+      return report;
+    }
+
+    public List<Object> getPath() {
+      return path;
+    }
+
+    public boolean hasErrors() {
+      return !report.getErrorMessages().isEmpty();
+    }
+  }
+
+  private static class InvocationKey {
+
+    private final FunctionField<Field> function;
+
+    private final Map<String, Object> args;
+
+    private final FieldSelection selection;
+
+    private final int hashCode;
+
+    private InvocationKey(
+        FunctionField<Field> function, Map<String, Object> args, FieldSelection selection) {
+      this.function = function;
+      this.args = args;
+      this.selection = selection;
+      this.hashCode =
+          31 * (31 * System.identityHashCode(function) + args.hashCode())
+              + Objects.hashCode(selection);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof InvocationKey)) {
+        return false;
+      }
+      InvocationKey other = (InvocationKey) o;
+      return function == other.function
+          && args.equals(other.args)
+          && Objects.equals(selection, other.selection);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+}
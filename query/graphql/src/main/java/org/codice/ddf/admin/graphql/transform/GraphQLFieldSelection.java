@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.graphql.transform;
+
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.codice.ddf.admin.api.fields.FieldSelection;
+
+/**
+ * The sub fields requested for a GraphQL field, including the fields of its fragments. Directives
+ * are not evaluated, so fields that are skipped or not included still count as selected.
+ */
+public class GraphQLFieldSelection implements FieldSelection {
+
+  private static final GraphQLFieldSelection EMPTY =
+      new GraphQLFieldSelection(Collections.emptyMap());
+
+  private final Map<String, GraphQLFieldSelection> fields;
+
+  private GraphQLFieldSelection(Map<String, GraphQLFieldSelection> fields) {
+    this.fields = fields;
+  }
+
+  /** @return the selection of the field being fetched */
+  public static GraphQLFieldSelection of(DataFetchingEnvironment env) {
+    return create(env.getFields(), env.getFragmentsByName());
+  }
+
+  @Override
+  public boolean contains(String fieldName) {
+    return fields.containsKey(fieldName);
+  }
+
+  @Override
+  public FieldSelection getSelection(String fieldName) {
+    return fields.getOrDefault(fieldName, EMPTY);
+  }
+
+  private static GraphQLFieldSelection create(
+      List<Field> fields, Map<String, FragmentDefinition> fragments) {
+    // Fields selected more than once, e.g. under different aliases, merge their sub fields
+    Map<String, List<Field>> subFields = new LinkedHashMap<>();
+    for (Field field : fields) {
+      if (field.getSelectionSet() != null) {
+        collectFields(field.getSelectionSet(), fragments, subFields, new HashSet<>());
+      }
+    }
+
+    if (subFields.isEmpty()) {
+      return EMPTY;
+    }
+
+    Map<String, GraphQLFieldSelection> selection = new HashMap<>();
+    subFields.forEach((name, sameName) -> selection.put(name, create(sameName, fragments)));
+    return new GraphQLFieldSelection(selection);
+  }
+
+  private static void collectFields(
+      SelectionSet selectionSet,
+      Map<String, FragmentDefinition> fragments,
+      Map<String, List<Field>> subFields,
+      Set<String> visitedFragments) {
+    for (Selection selection : selectionSet.getSelections()) {
+      if (selection instanceof Field) {
+        Field field = (Field) selection;
+        subFields.computeIfAbsent(field.getName(), name -> new ArrayList<>()).add(field);
+      } else if (selection instanceof InlineFragment) {
+        collectFields(
+            ((InlineFragment) selection).getSelectionSet(), fragments, subFields, visitedFragments);
+      } else if (selection instanceof FragmentSpread) {
+        String fragmentName = ((FragmentSpread) selection).getName();
+        FragmentDefinition fragment = fragments.get(fragmentName);
+        if (fragment != null && visitedFragments.add(fragmentName)) {
+          collectFields(fragment.getSelectionSet(), fragments, subFields, visitedFragments);
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof GraphQLFieldSelection)) {
+      return false;
+    }
+    return fields.equals(((GraphQLFieldSelection) o).fields);
+  }
+
+  @Override
+  public int hashCode() {
+    return fields.hashCode();
+  }
+}
@@ -13,14 +13,25 @@
  */
 package org.codice.ddf.admin.graphql.transform;
 
+import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLModifiedType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeReference;
 import graphql.servlet.GraphQLQueryProvider;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import org.apache.commons.lang.StringUtils;
@@ -78,6 +89,81 @@ public class GraphQLTransformCommons {
                 .build());
   }
 
+  /**
+   * Transformed types are reused by every provider transformed afterwards. Removed types are
+   * transformed again the next time a provider references them.
+   *
+   * @param typeNames GraphQL names of the types to remove
+   */
+  public void removeTypes(Set<String> typeNames) {
+    transformOutput.removeTypes(typeNames);
+  }
+
+  /**
+   * @return the GraphQL names of the enum types whose values changed since they were transformed
+   */
+  public Set<String> getChangedEnumTypes() {
+    return transformOutput.getChangedEnumTypes();
+  }
+
+  /**
+   * @return the GraphQL names of all the types reachable from the field definitions, including the
+   *     types of their arguments and the types behind type references
+   */
+  public Set<String> getReferencedTypeNames(Collection<GraphQLFieldDefinition> fields) {
+    Map<String, GraphQLType> transformedTypes = new HashMap<>();
+    for (GraphQLTypesProvider typesProvider : getGraphQlTypeProviders()) {
+      for (GraphQLType type : typesProvider.getTypes()) {
+        GraphQLType unwrapped = unwrap(type);
+        if (!(unwrapped instanceof GraphQLTypeReference)) {
+          transformedTypes.put(unwrapped.getName(), unwrapped);
+        }
+      }
+    }
+
+    Set<String> typeNames = new HashSet<>();
+    fields.forEach(field -> addReferencedTypeNames(field, transformedTypes, typeNames));
+    return typeNames;
+  }
+
+  private static void addReferencedTypeNames(
+      GraphQLFieldDefinition field, Map<String, GraphQLType> types, Set<String> typeNames) {
+    addReferencedTypeNames(field.getType(), types, typeNames);
+    for (GraphQLArgument argument : field.getArguments()) {
+      addReferencedTypeNames(argument.getType(), types, typeNames);
+    }
+  }
+
+  private static void addReferencedTypeNames(
+      GraphQLType type, Map<String, GraphQLType> types, Set<String> typeNames) {
+    GraphQLType unwrapped = unwrap(type);
+    if (!typeNames.add(unwrapped.getName())) {
+      return;
+    }
+
+    if (unwrapped instanceof GraphQLTypeReference) {
+      unwrapped = types.getOrDefault(unwrapped.getName(), unwrapped);
+    }
+
+    if (unwrapped instanceof GraphQLObjectType) {
+      for (GraphQLFieldDefinition field : ((GraphQLObjectType) unwrapped).getFieldDefinitions()) {
+        addReferencedTypeNames(field, types, typeNames);
+      }
+    } else if (unwrapped instanceof GraphQLInputObjectType) {
+      for (GraphQLInputObjectField field : ((GraphQLInputObjectType) unwrapped).getFields()) {
+        addReferencedTypeNames(field.getType(), types, typeNames);
+      }
+    }
+  }
+
+  private static GraphQLType unwrap(GraphQLType type) {
+    GraphQLType unwrapped = type;
+    while (unwrapped instanceof GraphQLModifiedType) {
+      unwrapped = ((GraphQLModifiedType) unwrapped).getWrappedType();
+    }
+    return unwrapped;
+  }
+
   public static String capitalize(String str) {
     return StringUtils.capitalize(str);
   }
@@ -14,7 +14,14 @@
 package org.codice.ddf.admin.graphql.transform;
 
 import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
 import graphql.servlet.GraphQLTypesProvider;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.codice.ddf.admin.api.fields.EnumField;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.graphql.GraphQLTypesProviderImpl;
@@ -23,8 +30,11 @@ public class GraphQLTransformEnum {
 
   private GraphQLTypesProviderImpl<GraphQLEnumType> enumTypeProvider;
 
+  private Map<String, EnumField<Object, EnumValue<Object>>> enumFields;
+
   public GraphQLTransformEnum() {
     this.enumTypeProvider = new GraphQLTypesProviderImpl<>();
+    this.enumFields = new ConcurrentHashMap<>();
   }
 
   public GraphQLEnumType enumFieldToGraphQLEnumType(EnumField<Object, EnumValue<Object>> field) {
@@ -43,8 +53,56 @@ public class GraphQLTransformEnum {
         .forEach(val -> builder.value(val.getEnumTitle(), val.getValue(), val.getDescription()));
 
     GraphQLEnumType newEnum = builder.build();
-    enumTypeProvider.addType(field.getFieldType(), newEnum);
-    return newEnum;
+    GraphQLEnumType enumType = enumTypeProvider.addTypeIfAbsent(field.getFieldType(), newEnum);
+    if (enumType == newEnum && field.getFieldType() != null) {
+      enumFields.put(field.getFieldType(), field);
+    }
+    return enumType;
+  }
+
+  /**
+   * Compares the values of every transformed enum type against the current values of its field.
+   * Enum fields backed by an {@link org.codice.ddf.admin.api.poller.EnumValuePoller} change their
+   * values as services are bound and unbound.
+   *
+   * @return the GraphQL names of the enum types whose values changed since they were transformed
+   */
+  public Set<String> getChangedEnumTypes() {
+    Set<String> changedTypes = new HashSet<>();
+
+    enumFields.forEach(
+        (fieldType, field) -> {
+          GraphQLEnumType enumType = enumTypeProvider.getType(fieldType);
+          if (enumType != null && !hasValues(enumType, field.getEnumValues())) {
+            changedTypes.add(enumType.getName());
+          }
+        });
+
+    return changedTypes;
+  }
+
+  public void removeTypes(Set<String> typeNames) {
+    enumTypeProvider.removeTypes(typeNames);
+    enumFields.keySet().removeIf(fieldType -> !enumTypeProvider.isTypePresent(fieldType));
+  }
+
+  private static boolean hasValues(GraphQLEnumType enumType, List<EnumValue<Object>> values) {
+    List<GraphQLEnumValueDefinition> definitions = enumType.getValues();
+    if (definitions.size() != values.size()) {
+      return false;
+    }
+
+    for (int i = 0; i < values.size(); i++) {
+      GraphQLEnumValueDefinition definition = definitions.get(i);
+      EnumValue<Object> value = values.get(i);
+      if (!Objects.equals(definition.getName(), value.getEnumTitle())
+          || !Objects.equals(definition.getValue(), value.getValue())
+          || !Objects.equals(definition.getDescription(), value.getDescription())) {
+        return false;
+      }
+    }
+
+    return true;
   }
 
   public GraphQLTypesProvider getEnumTypeProvider() {
@@ -22,6 +22,7 @@ import graphql.schema.GraphQLNonNull;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.fields.EnumField;
@@ -84,8 +85,7 @@ public class GraphQLTransformInput {
               + field.getClass());
     }
 
-    inputTypesProvider.addType(field.getFieldType(), type);
-    return type;
+    return inputTypesProvider.addTypeIfAbsent(field.getFieldType(), type);
   }
 
   public GraphQLInputType objectFieldToGraphQLInputType(ObjectField field) {
@@ -115,6 +115,10 @@ public class GraphQLTransformInput {
         .build();
   }
 
+  public void removeTypes(Set<String> typeNames) {
+    inputTypesProvider.removeTypes(typeNames);
+  }
+
   public GraphQLTypesProvider getInputTypeProvider() {
     return inputTypesProvider;
   }
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.graphql.transform;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLFieldDefinition;
@@ -21,15 +22,20 @@ import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLTypeReference;
+import graphql.servlet.GraphQLContext;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.FieldProvider;
+import org.codice.ddf.admin.api.fields.Cancellation;
 import org.codice.ddf.admin.api.fields.EnumField;
+import org.codice.ddf.admin.api.fields.FieldSelection;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.api.fields.ObjectField;
@@ -43,14 +49,14 @@ public class GraphQLTransformOutput {
   private GraphQLTransformScalar transformScalar;
   private GraphQLTransformEnum transformEnum;
   private GraphQLTypesProviderImpl<GraphQLOutputType> outputTypeProvider;
-  private GraphQLTypesProviderImpl<GraphQLTypeReference> referenceTypeProvider;
+  private ThreadLocal<Set<String>> objectTypesInProgress;
 
   public GraphQLTransformOutput() {
     transformScalar = new GraphQLTransformScalar();
     transformEnum = new GraphQLTransformEnum();
     inputTransformer = new GraphQLTransformInput(transformScalar, transformEnum);
     outputTypeProvider = new GraphQLTypesProviderImpl<>();
-    referenceTypeProvider = new GraphQLTypesProviderImpl<>();
+    objectTypesInProgress = ThreadLocal.withInitial(HashSet::new);
   }
 
   @SuppressWarnings("squid:S00112" /* Throwing Runtime exception intentionally */)
@@ -83,8 +89,7 @@ public class GraphQLTransformOutput {
               + field.getClass());
     }
 
-    outputTypeProvider.addType(field.getFieldType(), type);
-    return type;
+    return outputTypeProvider.addTypeIfAbsent(field.getFieldType(), type);
   }
 
   public GraphQLOutputType fieldToGraphQLObjectType(ObjectField field) {
@@ -95,27 +100,31 @@ public class GraphQLTransformOutput {
             ? field.getFieldType()
             : createOutputObjectFieldTypeName(field.getFieldType());
 
-    // Check if the objectField is recursive, if so bail early
-    if (referenceTypeProvider.isTypePresent(typeName)) {
-      return referenceTypeProvider.getType(typeName);
-    } else {
-      // Add a GraphQLTypeReference to support recursion
-      referenceTypeProvider.addType(typeName, new GraphQLTypeReference(typeName));
+    // Check if the objectField is recursive, if so bail early with a GraphQLTypeReference. Only
+    // the types being built by the current thread count since the providers are transformed
+    // concurrently and another thread may be building the same type.
+    Set<String> typesInProgress = objectTypesInProgress.get();
+    if (!typesInProgress.add(typeName)) {
+      return new GraphQLTypeReference(typeName);
     }
 
-    List<GraphQLFieldDefinition> innerFields = fieldsToGraphQLFieldDefinition(field.getFields());
+    try {
+      List<GraphQLFieldDefinition> innerFields = fieldsToGraphQLFieldDefinition(field.getFields());
 
-    // Skip mutations on field provider
-    if (field instanceof FieldProvider) {
-      innerFields.addAll(
-          functionsToGraphQLFieldDefinition(((FieldProvider) field).getDiscoveryFunctions()));
-    }
+      // Skip mutations on field provider
+      if (field instanceof FieldProvider) {
+        innerFields.addAll(
+            functionsToGraphQLFieldDefinition(((FieldProvider) field).getDiscoveryFunctions()));
+      }
 
-    return GraphQLObjectType.newObject()
-        .name(typeName)
-        .description(field.getDescription())
-        .fields(innerFields)
-        .build();
+      return GraphQLObjectType.newObject()
+          .name(typeName)
+          .description(field.getDescription())
+          .fields(innerFields)
+          .build();
+    } finally {
+      typesInProgress.remove(typeName);
+    }
   }
 
   public List<GraphQLFieldDefinition> fieldsToGraphQLFieldDefinition(List<? extends Field> fields) {
@@ -162,7 +171,7 @@ public class GraphQLTransformOutput {
         .description(function.getDescription())
         .type(fieldToGraphQLOutputType(function.getReturnType()))
         .argument(graphQLArgs)
-        .dataFetcher((env -> functionDataFetcher(env, function)))
+        .dataFetcher(new FunctionDataFetcher(this, function))
         .build();
   }
 
@@ -172,9 +181,28 @@ public class GraphQLTransformOutput {
       args.putAll(env.getArguments());
     }
 
-    FunctionField<Field> funcField = field.newInstance();
-    FunctionReport<Field> result =
-        funcField.execute(args, env.getFieldTypeInfo().getPath().toList());
+    List<Object> path = env.getFieldTypeInfo().getPath().toList();
+    // Lets the function skip computing the fields of its result that were not requested
+    FieldSelection selection = GraphQLFieldSelection.of(env);
+    FunctionInvocationCache invocationCache = getInvocationCache(env);
+    FunctionInvocationCache.Invocation invocation;
+
+    if (invocationCache == null) {
+      invocation =
+          FunctionInvocationCache.Invocation.execute(
+              field, args, selection, Cancellation.NONE, path);
+    } else if (isMutation(env)) {
+      invocation =
+          FunctionInvocationCache.Invocation.execute(
+              field, args, selection, invocationCache.getCancellation(), path);
+      // The mutation may have changed what the queries of the following operations return
+      invocationCache.clear();
+    } else {
+      invocation = invocationCache.invoke(field, args, selection, path);
+    }
+
+    FunctionField<Field> funcField = invocation.getFunction();
+    FunctionReport<Field> result = invocation.getReport();
 
     if (!result.getErrorMessages().isEmpty()) {
       throw new FunctionDataFetcherException(
@@ -186,21 +214,60 @@ public class GraphQLTransformOutput {
               .collect(Collectors.toList()),
           result.getErrorMessages());
     } else if (result.isResultPresent()) {
-      return result.getResult().getSanitizedValue();
+      return toFetchedValue(result.getResult());
     }
 
     return null;
   }
 
+  private static FunctionInvocationCache getInvocationCache(DataFetchingEnvironment env) {
+    if (!(env.getContext() instanceof GraphQLContext)) {
+      return null;
+    }
+
+    return ((GraphQLContext) env.getContext())
+        .getRequest()
+        .map(request -> request.getAttribute(FunctionInvocationCache.REQUEST_ATTRIBUTE))
+        .filter(FunctionInvocationCache.class::isInstance)
+        .map(FunctionInvocationCache.class::cast)
+        .orElse(null);
+  }
+
+  private static boolean isMutation(DataFetchingEnvironment env) {
+    GraphQLObjectType mutationType = env.getGraphQLSchema().getMutationType();
+    return mutationType != null && mutationType.getName().equals(env.getParentType().getName());
+  }
+
   public Object fieldDataFetcher(DataFetchingEnvironment env, Field field) {
     Object source = env.getSource();
     // If no values are passed for the source, return a field definition to continue the execution
     // strategy instead of returning null. This is an expansion of the PropertyDataFetcher
-    if (source instanceof Map && !((Map) source).isEmpty()) {
-      return ((Map<?, ?>) source).get(field.getFieldName());
+    if (source instanceof ObjectField && !((ObjectField) source).getFields().isEmpty()) {
+      for (Field sourceField : ((ObjectField) source).getFields()) {
+        if (field.getFieldName().equals(sourceField.getFieldName())) {
+          return toFetchedValue(sourceField);
+        }
+      }
+      return null;
     }
 
-    return field.getSanitizedValue();
+    return toFetchedValue(field);
+  }
+
+  /**
+   * Object and list fields are returned as is, and their inner fields are fetched from them, so
+   * that results are not copied into maps and lists first. Only the requested fields of a result
+   * are read. Every other field returns its sanitized value.
+   */
+  private static Object toFetchedValue(Field field) {
+    if (field instanceof ObjectField) {
+      return field;
+    } else if (field instanceof ListField) {
+      return Lists.transform(
+          ((ListField<Field>) field).getList(), GraphQLTransformOutput::toFetchedValue);
+    }
+
+    return field == null ? null : field.getSanitizedValue();
   }
 
   // Add on Payload to avoid collision between an input and output field type name
@@ -208,8 +275,19 @@ public class GraphQLTransformOutput {
     return GraphQLTransformCommons.capitalize(fieldTypeName) + "Payload";
   }
 
-  // Omit the referenceTypeProvider intentionally since all the types should already be defined by
-  // the other providers
+  public Set<String> getChangedEnumTypes() {
+    return transformEnum.getChangedEnumTypes();
+  }
+
+  public void removeTypes(Set<String> typeNames) {
+    inputTransformer.removeTypes(typeNames);
+    transformScalar.removeTypes(typeNames);
+    transformEnum.removeTypes(typeNames);
+    outputTypeProvider.removeTypes(typeNames);
+  }
+
+  // Type references are not registered since all the types should already be defined by the
+  // other providers
   public List<GraphQLTypesProvider> getTypeProviders() {
     return ImmutableList.of(
         inputTransformer.getInputTypeProvider(),
@@ -15,6 +15,7 @@ package org.codice.ddf.admin.graphql.transform;
 
 import graphql.Scalars;
 import graphql.schema.GraphQLScalarType;
+import java.util.Set;
 import org.codice.ddf.admin.api.fields.ScalarField;
 import org.codice.ddf.admin.graphql.GraphQLTypesProviderImpl;
 
@@ -72,8 +73,11 @@ public class GraphQLTransformScalar {
                     Scalars.GraphQLFloat.getCoercing());
     }
 
-    scalarTypesProvider.addType(field.getFieldType(), type);
-    return type;
+    return scalarTypesProvider.addTypeIfAbsent(field.getFieldType(), type);
+  }
+
+  public void removeTypes(Set<String> typeNames) {
+    scalarTypesProvider.removeTypes(typeNames);
   }
 
   public GraphQLTypesProviderImpl getScalarTypesProvider() {
@@ -4,8 +4,20 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.base.Charsets
 import com.google.common.io.Resources
 import com.google.common.net.HttpHeaders
+import graphql.GraphQL
+import graphql.Scalars
+import graphql.introspection.IntrospectionQuery
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetchingEnvironment
+import graphql.schema.GraphQLFieldDefinition
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
 import graphql.validation.ValidationErrorType
 import groovy.json.JsonBuilder
+import org.codice.ddf.admin.api.fields.FieldSelection
+import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.api.report.FunctionReport
+import org.codice.ddf.admin.common.CancellationToken
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField
 import org.codice.ddf.admin.common.fields.base.scalar.IntegerField
 import org.codice.ddf.admin.common.fields.base.scalar.StringField
@@ -14,22 +26,47 @@ import org.codice.ddf.admin.common.fields.test.TestFieldProvider
 import org.codice.ddf.admin.common.fields.test.TestHiddenField
 import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
+import org.codice.ddf.admin.common.report.message.ErrorMessageImpl
+import org.codice.ddf.admin.graphql.servlet.CompressingOutputStream
 import org.codice.ddf.admin.graphql.servlet.ExtendedOsgiGraphQLServlet
+import org.codice.ddf.admin.graphql.servlet.PersistedQueryRegistry
+import org.codice.ddf.admin.graphql.servlet.QueryCostBudget
+import org.codice.ddf.admin.graphql.servlet.ResolverExecutors
+import org.codice.ddf.admin.graphql.servlet.SchemaSnapshotStore
+import org.codice.ddf.admin.graphql.transform.FunctionInvocationCache
+import org.codice.ddf.admin.graphql.transform.GraphQLFieldSelection
+import org.codice.ddf.admin.graphql.transform.GraphQLTransformCommons
+import org.codice.ddf.admin.graphql.transform.GraphQLTransformOutput
 import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.mock.web.MockHttpServletResponse
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.servlet.AsyncEvent
+import javax.servlet.ServletOutputStream
+
+import java.nio.file.Files
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.zip.GZIPInputStream
 
 class GraphQLTransformationTest extends Specification {
 
     static STATUS_OK = 200
 
+    static NOT_MODIFIED = 304
+
     static STATUS_INVALID_REQUEST = 400
 
     static MISSING_CONTENT_LENGTH = 411
 
     static PAYLOAD_TOO_LARGE = 413
 
+    static TOO_MANY_REQUESTS = 429
+
     static TEST_OBJECT_NAME = TestObjectField.FIELD_NAME
 
     static STRING_ARG_VALUE = TestObjectField.SAMPLE_STRING_VALUE
@@ -76,6 +113,8 @@ class GraphQLTransformationTest extends Specification {
 
     static GRAPHQL_VARIABLES = 'variables'
 
+    static final FieldSelection NO_FIELDS = [contains: { false }, getSelection: { null }] as FieldSelection
+
     @Shared
     ObjectMapper mapper = new ObjectMapper()
 
@@ -123,6 +162,35 @@ class GraphQLTransformationTest extends Specification {
     }
 
 
+    def 'revalidate the cached introspection result with its ETag'() {
+        setup:
+        request.setPathInfo('/schema.json')
+        servlet.doGet(request, response)
+        def eTag = response.getHeader(HttpHeaders.ETAG)
+        def introspection = response.getContentAsByteArray()
+
+        when:
+        request = new MockHttpServletRequest()
+        response = new MockHttpServletResponse()
+        request.setPathInfo('/schema.json')
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag)
+        servlet.doGet(request, response)
+
+        then:
+        eTag != null
+        response.getStatus() == NOT_MODIFIED
+        response.getContentAsByteArray().length == 0
+
+        when:
+        postRequest(toJson([query: IntrospectionQuery.INTROSPECTION_QUERY]).bytes)
+
+        then:
+        response.getStatus() == STATUS_OK
+        response.getHeader(HttpHeaders.ETAG) == eTag
+        response.getContentAsByteArray() == introspection
+        getResponseContentAsMap().data.__schema != null
+    }
+
     def 'successfully retrieve all supported base field types'() {
         setup:
         request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
@@ -149,6 +217,61 @@ class GraphQLTransformationTest extends Specification {
                 ]
     }
 
+    def 'successfully retrieve all supported base field types with a resolver executor'() {
+        setup:
+        servlet.setQueryResolverExecutor(executor)
+        servlet.init()
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+
+        when:
+        postRequest(reqContent)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data[FUNCTION_NAME] == [
+                (TestFieldProvider.GET_INT_FUNCTION_NAME)   : TestFieldProvider.GetInt.GET_INT_VALUE,
+                (TestFieldProvider.GET_BOOL_FUNCTION_NAME)  : TestFieldProvider.GetBoolean.GET_BOOLEAN_VALUE,
+                (TestFieldProvider.GET_STRING_FUNCTION_NAME): TestFieldProvider.GetString.GET_STRING_VALUE,
+                (TestFieldProvider.GET_LIST_FUNCTION_NAME)  : [
+                        TestFieldProvider.GetList.ENTRY_1_VALUE.getSanitizedValue(),
+                        TestFieldProvider.GetList.ENTRY_2_VALUE.getSanitizedValue(),
+                        TestFieldProvider.GetList.ENTRY_3_VALUE.getSanitizedValue()
+                ],
+                (TestFieldProvider.GET_ENUM_FUNCTION_NAME)  : TestFieldProvider.GetEnum.GET_ENUM_VALUE
+        ]
+
+        cleanup:
+        servlet.destroy()
+
+        where:
+        executor << [ResolverExecutors.INLINE, ResolverExecutors.FIXED, ResolverExecutors.WORK_STEALING, ResolverExecutors.VIRTUAL]
+    }
+
+    def 'function errors are reported when resolved on a resolver executor'() {
+        setup:
+        servlet.setQueryResolverExecutor(ResolverExecutors.FIXED)
+        servlet.init()
+        def reqContent = toJson([query: getQuery('MessagePathsQuery'), variables: queryVars]).bytes
+
+        when:
+        postRequest(reqContent)
+
+        then:
+        getResponseContentAsMap().errors as Set == [
+                createError([TEST_OBJECT_NAME]),
+                createError([TEST_OBJECT_NAME, INTEGER]),
+                createError([TEST_OBJECT_NAME, BOOLEAN]),
+                createError([TEST_OBJECT_NAME, STRING]),
+                createError([TEST_OBJECT_NAME, ENUMERATION]),
+                createError([TEST_OBJECT_NAME, LIST]),
+                createError([TEST_OBJECT_NAME, LIST, 0])
+        ] as Set
+
+        cleanup:
+        servlet.destroy()
+    }
+
     def 'successfully pass all supported base field types as args'() {
         setup:
         request.addParameter(GRAPHQL_QUERY, getQuery('MultipleArgumentsQuery'))
@@ -365,6 +488,669 @@ class GraphQLTransformationTest extends Specification {
         ]
     }
 
+    def "batched request responses keep the order of the batched queries"() {
+        setup:
+        servlet.setConcurrentBatchExecution(concurrent)
+
+        def goodQuery = [
+                query: getQuery('SatisfiedRequiredFieldsQuery'),
+                variables: getVariables()
+        ]
+
+        def badQuery = [
+                query: getQuery('MissingRequiredInnerFieldsArgumentQuery'),
+                variables: getVariables()
+        ]
+
+        def reqContent = toJson([badQuery, goodQuery, goodQuery, badQuery, goodQuery]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsList().collect { it.errors == null } == [false, true, true, false, true]
+
+        where:
+        concurrent << [true, false]
+    }
+
+    def "asynchronous batched request responses keep the order of the batched queries"() {
+        setup:
+        servlet.setAsyncExecution(true)
+        servlet.setConcurrentBatchExecution(concurrent)
+        request.setAsyncSupported(true)
+
+        def goodQuery = [
+                query: getQuery('SatisfiedRequiredFieldsQuery'),
+                variables: getVariables()
+        ]
+
+        def badQuery = [
+                query: getQuery('MissingRequiredInnerFieldsArgumentQuery'),
+                variables: getVariables()
+        ]
+
+        def reqContent = toJson([badQuery, goodQuery, goodQuery, badQuery, goodQuery]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert !request.isAsyncStarted()
+        }
+        response.getStatus() == STATUS_OK
+        getResponseContentAsList().collect { it.errors == null } == [false, true, true, false, true]
+
+        where:
+        concurrent << [true, false]
+    }
+
+    def "timed out asynchronous requests end with an error result for the results not written"() {
+        setup:
+        def release = new CountDownLatch(1)
+        servlet.setFieldProviders([new BlockingFieldProvider(release)])
+        servlet.refreshSchema()
+        servlet.setAsyncExecution(true)
+        request.setAsyncSupported(true)
+
+        def reqContent = toJson([[query: "{ $FUNCTION_NAME { getInteger } }".toString()]]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+        def asyncContext = request.getAsyncContext()
+        asyncContext.getListeners().each { it.onTimeout(new AsyncEvent(asyncContext)) }
+        def timedOut = getResponseContentAsList()
+        release.countDown()
+        Thread.sleep(200)
+
+        then:
+        !request.isAsyncStarted()
+        timedOut*.errors*.message == [['The request timed out.']]
+        getResponseContentAsList() == timedOut
+    }
+
+    def "asynchronous requests are rejected before starting once the async executor is saturated"() {
+        setup:
+        def release = new CountDownLatch(1)
+        def executor = servlet.@asyncExecutor
+        def blocked = (0..executor.getMaximumPoolSize() + executor.getQueue().remainingCapacity() - 1).collect {
+            executor.submit({ release.await() } as Callable)
+        }
+        servlet.setAsyncExecution(true)
+        request.setAsyncSupported(true)
+
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == TOO_MANY_REQUESTS
+        !request.isAsyncStarted()
+        response.getContentType().startsWith('application/json')
+        getResponseContentAsMap().errors*.message == [ExtendedOsgiGraphQLServlet.ASYNC_EXECUTOR_BUSY_MSG]
+
+        cleanup:
+        release.countDown()
+        blocked*.get()
+    }
+
+    def "batched mutations execute alone in the order of the batch"() {
+        setup:
+        def provider = new RecordingFieldProvider()
+        servlet.setFieldProviders([provider])
+        servlet.refreshSchema()
+        servlet.setAsyncExecution(async)
+        servlet.setConcurrentBatchExecution(true)
+        request.setAsyncSupported(async)
+
+        def query = [query: 'query TestGetInteger { testing { getInteger } }']
+
+        def mutation = [
+                query: getQuery('SampleMutation'),
+                variables: getVariables()
+        ]
+
+        def reqContent = toJson([query, mutation, query]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert !request.isAsyncStarted()
+        }
+        response.getStatus() == STATUS_OK
+        provider.events == ['query started', 'query completed', 'mutation started',
+                            'mutation completed', 'query started', 'query completed']
+        def results = getResponseContentAsList()
+        results*.data*.keySet().flatten() == [FUNCTION_NAME, 'sampleMutation', FUNCTION_NAME]
+        results[1].errors*.message == [TestFieldProvider.ERROR_MSG]
+
+        where:
+        async << [false, true]
+    }
+
+    def "request with variables as a JSON object works"() {
+        setup:
+        def reqContent = toJson([query: getQuery('SatisfiedRequiredFieldsQuery'), variables: queryVars]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data[FUNCTION_NAME][TestFieldProvider.REQUIRED_ARG_FUNCTION_NAME][STRING] == STRING_ARG_VALUE
+    }
+
+    def "fail when batched request exceeds max batch size"() {
+        setup:
+        def query = [query: getQuery('GetBaseFieldTypesQuery')]
+        def reqContent = toJson([query] * 11).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == TOO_MANY_REQUESTS
+        response.getContentAsString() == ExtendedOsgiGraphQLServlet.INVALID_BATCH_SIZE_MSG
+    }
+
+    def "fail when request body is not a GraphQL request"() {
+        setup:
+        def reqContent = body.bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        response.getStatus() == STATUS_INVALID_REQUEST
+
+        where:
+        body << ['', '{"query": ', '["query"]']
+    }
+
+    def "parsed and validated documents are reused until the schema is refreshed"() {
+        setup:
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+
+        when:
+        2.times { postRequest(reqContent) }
+
+        then: 'each operation looks up the document once for both its cost analysis and execution'
+        servlet.getDocumentCacheMissCount() == 1
+        servlet.getDocumentCacheHitCount() == 1
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        postRequest(reqContent)
+
+        then:
+        servlet.getDocumentCacheMissCount() == 2
+        servlet.getDocumentCacheHitCount() == 1
+        getResponseContentAsMap().errors == null
+    }
+
+    def "GET operations are executed with their prepared document"() {
+        when:
+        2.times {
+            request = new MockHttpServletRequest()
+            response = new MockHttpServletResponse()
+            request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
+            servlet.doGet(request, response)
+        }
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors == null
+        servlet.getDocumentCacheMissCount() == 1
+        servlet.getDocumentCacheHitCount() == 1
+    }
+
+    def "schema is not rebuilt when no field provider changed"() {
+        setup:
+        def schema = servlet.getSchemaProvider().getSchema()
+
+        when:
+        servlet.refreshSchema()
+
+        then:
+        servlet.getSchemaProvider().getSchema().is(schema)
+    }
+
+    def "only replaced field providers are transformed again"() {
+        setup:
+        def schema = servlet.getSchemaProvider().getSchema()
+        def testingField = schema.getQueryType().getFieldDefinition(FUNCTION_NAME)
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        postRequest(toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes)
+
+        then:
+        def newSchema = servlet.getSchemaProvider().getSchema()
+        !newSchema.is(schema)
+        !newSchema.getQueryType().getFieldDefinition(FUNCTION_NAME).is(testingField)
+        newSchema.getQueryType().getFieldDefinition('errorCodes') != null
+        getResponseContentAsMap().errors == null
+    }
+
+    def "field providers transformed concurrently share a single instance of each type"() {
+        setup:
+        def transformer = new GraphQLTransformCommons()
+        def executor = Executors.newFixedThreadPool(4)
+        def start = new CountDownLatch(1)
+
+        when:
+        def transformations = (1..8).collect {
+            executor.submit({
+                start.await()
+                transformer.fieldProviderToQueries(new TestFieldProvider())
+            } as Callable)
+        }
+        start.countDown()
+        def types = transformations.collect { it.get().first().getType() }
+        executor.shutdown()
+
+        then:
+        types.every { it.is(types.first()) }
+        def typesByName = transformer.getGraphQlTypeProviders()*.getTypes().flatten().groupBy { it.getName() }
+        typesByName.every { name, sameName -> sameName.every { it.is(sameName.first()) } }
+    }
+
+    def "schema refresh requests are coalesced into a single refresh"() {
+        setup:
+        def schema = servlet.getSchemaProvider().getSchema()
+        def conditions = new PollingConditions(timeout: 5)
+        servlet.setSchemaRefreshDelayMillis(100)
+        servlet.setFieldProviders([new TestFieldProvider()])
+
+        when:
+        3.times { servlet.bindFieldProvider(new TestFieldProvider()) }
+
+        then:
+        servlet.getSchemaProvider().getSchema().is(schema)
+        conditions.eventually {
+            assert !servlet.getSchemaProvider().getSchema().is(schema)
+        }
+    }
+
+    def "the saved schema snapshot is served until a field provider is bound"() {
+        setup:
+        def snapshotFile = Files.createTempDirectory('graphql').resolve('schema.json')
+        servlet.setSchemaSnapshotFile(snapshotFile.toString())
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        def query = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+
+        when: 'the servlet restarts before its field providers are bound'
+        servlet = new ExtendedOsgiGraphQLServlet()
+        servlet.setSchemaSnapshotFile(snapshotFile.toString())
+        servlet.loadSchemaSnapshot()
+        postRequest(query)
+
+        then:
+        Files.exists(snapshotFile)
+        getResponseContentAsMap().errors*.message == [SchemaSnapshotStore.SCHEMA_LOADING]
+
+        when:
+        postRequest(toJson([query: IntrospectionQuery.INTROSPECTION_QUERY]).bytes)
+
+        then:
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data.__schema.queryType.name == 'Query'
+
+        when: 'the schema is refreshed before any field provider is bound'
+        servlet.refreshSchema()
+        postRequest(query)
+
+        then:
+        getResponseContentAsMap().errors*.message == [SchemaSnapshotStore.SCHEMA_LOADING]
+
+        when: 'a field provider other than the ones of the snapshot is bound'
+        servlet.setFieldProviders([new RecordingFieldProvider()])
+        servlet.refreshSchema()
+        postRequest(toJson([query: "{ $FUNCTION_NAME { getInteger } }".toString()]).bytes)
+
+        then:
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data[FUNCTION_NAME] != null
+
+        cleanup:
+        snapshotFile.toFile().getParentFile().deleteDir()
+    }
+
+    def "persisted queries are executed by hash once registered"() {
+        setup:
+        def query = getQuery('GetBaseFieldTypesQuery')
+        def persistedQuery = [persistedQuery: [version: 1, sha256Hash: PersistedQueryRegistry.hash(query)]]
+        def hashOnlyContent = toJson([extensions: persistedQuery]).bytes
+
+        when:
+        postRequest(hashOnlyContent)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().errors*.message == ['PersistedQueryNotFound']
+
+        when:
+        postRequest(toJson([query: query, extensions: persistedQuery]).bytes)
+
+        then:
+        getResponseContentAsMap().errors == null
+
+        when:
+        postRequest(hashOnlyContent)
+
+        then:
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data[FUNCTION_NAME] != null
+    }
+
+    def "fail to register persisted query when the hash does not match the query"() {
+        setup:
+        def persistedQuery = [persistedQuery: [version: 1, sha256Hash: PersistedQueryRegistry.hash('{ other }')]]
+
+        when:
+        postRequest(toJson([query: getQuery('GetBaseFieldTypesQuery'), extensions: persistedQuery]).bytes)
+
+        then:
+        getResponseContentAsMap().data == null
+        getResponseContentAsMap().errors*.message == ['provided sha does not match query']
+    }
+
+    def "identical function invocations of a request execute once"() {
+        setup:
+        def cancellation = new CancellationToken(TimeUnit.MINUTES.toMillis(1))
+        def cache = new FunctionInvocationCache(cancellation)
+        def instance = Mock(FunctionField)
+        def report = Mock(FunctionReport)
+        def function = Mock(FunctionField)
+        report.getErrorMessages() >> []
+
+        when:
+        def first = cache.invoke(function, [arg: 'value'], FieldSelection.ALL, ['query', 'first'])
+        def second = cache.invoke(function, [arg: 'value'], FieldSelection.ALL, ['query', 'second'])
+
+        then:
+        1 * function.newInstance() >> instance
+        1 * instance.execute([arg: 'value'], ['query', 'first'], FieldSelection.ALL, cancellation) >> report
+        first.is(second)
+        second.getReport().is(report)
+    }
+
+    def "function invocations with different arguments or errors are not shared"() {
+        setup:
+        def cache = new FunctionInvocationCache()
+        def instance = Mock(FunctionField)
+        def report = Mock(FunctionReport)
+        def function = Mock(FunctionField)
+        report.getErrorMessages() >> errors
+
+        when:
+        cache.invoke(function, [arg: 'value'], FieldSelection.ALL, ['query', 'first'])
+        cache.invoke(function, secondArgs, secondSelection, ['query', 'second'])
+
+        then:
+        2 * function.newInstance() >> instance
+        2 * instance.execute(_, _, _, _) >> report
+
+        where:
+        secondArgs       | secondSelection        | errors
+        [arg: 'other']   | FieldSelection.ALL     | []
+        [arg: 'value']   | FieldSelection.ALL     | [new ErrorMessageImpl('error')]
+        [arg: 'value']   | NO_FIELDS              | []
+    }
+
+    def "field selections contain the nested fields of fragments"() {
+        setup:
+        FieldSelection selection = null
+        def inner = GraphQLObjectType.newObject().name('Inner')
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('name').type(Scalars.GraphQLString))
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('id').type(Scalars.GraphQLInt))
+                .build()
+        def outer = GraphQLObjectType.newObject().name('Outer')
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('name').type(Scalars.GraphQLString))
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('inner').type(inner))
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('other').type(inner))
+                .build()
+        def query = GraphQLObjectType.newObject().name('Query')
+                .field(GraphQLFieldDefinition.newFieldDefinition().name('outer').type(outer).dataFetcher({ env ->
+                    selection = GraphQLFieldSelection.of(env)
+                    [:]
+                } as DataFetcher))
+                .build()
+        def graphQL = GraphQL.newGraphQL(GraphQLSchema.newSchema().query(query).build()).build()
+
+        when:
+        graphQL.execute('{ outer { name ...innerFields } } fragment innerFields on Outer { inner { ... on Inner { id } } }')
+
+        then:
+        selection.contains('name')
+        selection.contains('inner')
+        !selection.contains('other')
+        selection.getSelection('inner').contains('id')
+        !selection.getSelection('inner').contains('name')
+        !selection.getSelection('other').contains('id')
+    }
+
+    def "object results are fetched from their fields without being copied into maps"() {
+        setup:
+        def object = Spy(TestObjectField)
+        object.setString(STRING_ARG_VALUE).setList(LIST_ARG_VALUE).setHiddenField(HIDDEN_FIELD_ARG_VALUE)
+        def output = new GraphQLTransformOutput()
+        def env = Mock(DataFetchingEnvironment) {
+            getSource() >> object
+        }
+
+        when:
+        def string = output.fieldDataFetcher(env, new StringField())
+        def list = output.fieldDataFetcher(env, new StringField.ListImpl(TestFieldProvider.LIST_FIELD_NAME))
+        def inner = output.fieldDataFetcher(env, object.getInnerObjectField())
+        def hidden = output.fieldDataFetcher(env, new TestHiddenField())
+
+        then:
+        0 * object.getValue()
+        0 * object.getSanitizedValue()
+        string == STRING_ARG_VALUE
+        list == LIST_ARG_VALUE
+        inner.is(object.getInnerObjectField())
+        hidden == HIDDEN_FIELD_RETURN_VALUE
+    }
+
+    def "reject operations exceeding the query cost limits"() {
+        setup:
+        limit.call(servlet)
+
+        when:
+        postRequest(toJson([query: query]).bytes)
+
+        then:
+        response.getStatus() == STATUS_OK
+        getResponseContentAsMap().data == null
+        getResponseContentAsMap().errors*.message == [message]
+
+        where:
+        limit                            | query                                              | message
+        { s -> s.setMaxQueryCost(4) }    | getQuery('GetBaseFieldTypesQuery')                 | 'Query cost of 5 exceeds the maximum query cost of 4.'
+        { s -> s.setMaxQueryDepth(3) }   | getQuery('GetBaseFieldTypesQuery')                 | 'Query depth of 4 exceeds the maximum query depth of 3.'
+        { s -> s.setMaxQueryAliases(1) } | "{ $FUNCTION_NAME { a: getInteger b: getString } }" | 'Query with 2 aliases exceeds the maximum of 1 aliases.'
+    }
+
+    def "expensive requests are rejected once the query cost budget is exhausted"() {
+        setup:
+        servlet.setQueryCostBudget(10)
+        servlet.setQueryCostBudgetWaitMillis(0)
+        def held = servlet.@admission.@queryCostBudget.tryAcquire(10, 0, TimeUnit.MILLISECONDS).get()
+
+        when:
+        postRequest(toJson([query: query]).bytes)
+
+        then:
+        response.getStatus() == status
+
+        cleanup:
+        held.release()
+
+        where:
+        query                                                                                   | status
+        "{ $FUNCTION_NAME { ${(1..10).collect { "a$it: getInteger" }.join(' ')} } }".toString() | 429
+        getQuery('GetBaseFieldTypesQuery')                                                      | STATUS_OK
+    }
+
+    def "expensive GET requests are rejected with an error result once the query cost budget is exhausted"() {
+        setup:
+        servlet.setQueryCostBudget(10)
+        servlet.setQueryCostBudgetWaitMillis(0)
+        def held = servlet.@admission.@queryCostBudget.tryAcquire(10, 0, TimeUnit.MILLISECONDS).get()
+        request.addParameter(GRAPHQL_QUERY, "{ $FUNCTION_NAME { ${(1..10).collect { "a$it: getInteger" }.join(' ')} } }".toString())
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == TOO_MANY_REQUESTS
+        response.getContentType().startsWith('application/json')
+        getResponseContentAsMap().data == null
+        getResponseContentAsMap().errors*.message == [ExtendedOsgiGraphQLServlet.QUERY_COST_BUDGET_EXCEEDED_MSG]
+
+        cleanup:
+        held.release()
+    }
+
+    def "query cost budget is given back when the asynchronous response cannot be started"() {
+        setup:
+        servlet.setQueryCostBudget(10)
+        servlet.setAsyncExecution(true)
+        request.setAsyncSupported(true)
+        response = new MockHttpServletResponse() {
+            @Override
+            ServletOutputStream getOutputStream() {
+                throw new IOException('The client went away.')
+            }
+        }
+
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+
+        when:
+        servlet.doPost(request, response)
+
+        then:
+        !request.isAsyncStarted()
+        servlet.@admission.@queryCostBudget.getAvailable() == 10
+    }
+
+    def "query cost budget is given back once requests complete"() {
+        setup:
+        def budget = new QueryCostBudget(10)
+
+        when:
+        def first = budget.tryAcquire(20, 0, TimeUnit.MILLISECONDS)
+        def second = budget.tryAcquire(1, 0, TimeUnit.MILLISECONDS)
+        first.get().release()
+        first.get().release()
+
+        then:
+        first.isPresent()
+        !second.isPresent()
+        budget.getAvailable() == 10
+    }
+
+    def "include the timings of the resolvers when tracing is requested"() {
+        setup:
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+
+        when:
+        request = new MockHttpServletRequest()
+        response = new MockHttpServletResponse()
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+        request.addHeader(ExtendedOsgiGraphQLServlet.TRACING_HEADER, 'true')
+        servlet.doPost(request, response)
+        def tracing = getResponseContentAsMap().extensions.tracing
+        def resolvers = tracing.execution.resolvers
+
+        then:
+        getResponseContentAsMap().errors == null
+        tracing.parsing.duration > 0
+        tracing.validation.duration > 0
+        resolvers.find { it.path == [FUNCTION_NAME, TestFieldProvider.GET_INT_FUNCTION_NAME] }.duration > 0
+        resolvers*.fieldName.containsAll([FUNCTION_NAME, TestFieldProvider.GET_LIST_FUNCTION_NAME])
+
+        when:
+        postRequest(reqContent)
+
+        then:
+        getResponseContentAsMap().extensions == null
+    }
+
+    def "compress responses larger than the compression threshold"() {
+        setup:
+        servlet.setCompressionThreshold(threshold)
+        def reqContent = toJson([query: getQuery('GetBaseFieldTypesQuery')]).bytes
+        request = new MockHttpServletRequest()
+        response = new MockHttpServletResponse()
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, 'deflate, gzip')
+
+        when:
+        servlet.doPost(request, response)
+        def body = compressed ?
+                new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray())).bytes :
+                response.getContentAsByteArray()
+
+        then:
+        response.getHeader(HttpHeaders.CONTENT_ENCODING) == (compressed ? 'gzip' : null)
+        response.getHeader(HttpHeaders.VARY) == HttpHeaders.ACCEPT_ENCODING
+        mapper.readValue(body, Map).data[FUNCTION_NAME] != null
+
+        where:
+        threshold | compressed
+        0         | true
+        100_000   | false
+    }
+
+    def "negotiate the response encoding from the accept encoding header"() {
+        expect:
+        CompressingOutputStream.negotiate(acceptEncoding) == Optional.ofNullable(encoding)
+
+        where:
+        acceptEncoding                | encoding
+        null                          | null
+        'identity'                    | null
+        'gzip'                        | 'gzip'
+        'deflate'                     | 'deflate'
+        'deflate, gzip'               | 'gzip'
+        'gzip;q=0.5, deflate'         | 'deflate'
+        'gzip;q=0, *'                 | 'deflate'
+        '*'                           | 'gzip'
+        '*;q=0'                       | null
+    }
+
     def 'successfully retrieve error codes without any errors'() {
         setup:
         request.addParameter(GRAPHQL_QUERY, getQuery('GetErrorCodes'))
@@ -412,6 +1198,14 @@ class GraphQLTransformationTest extends Specification {
         response.getStatus() == MISSING_CONTENT_LENGTH
     }
 
+    def postRequest(byte[] reqContent) {
+        request = new MockHttpServletRequest()
+        response = new MockHttpServletResponse()
+        request.setContent(reqContent)
+        request.addHeader(HttpHeaders.CONTENT_LENGTH, reqContent.size())
+        servlet.doPost(request, response)
+    }
+
     def getResponseContentAsMap() {
         mapper.readValue(response.getContentAsByteArray(), Map)
     }
@@ -455,4 +1249,101 @@ class GraphQLTransformationTest extends Specification {
                 "extensions": null
         ]
     }
+
+    /** Blocks its query until released. */
+    static class BlockingFieldProvider extends TestFieldProvider {
+
+        final CountDownLatch release
+
+        BlockingFieldProvider(CountDownLatch release) {
+            this.release = release
+        }
+
+        @Override
+        List<FunctionField> getDiscoveryFunctions() {
+            [new BlockingGetInt(release)]
+        }
+    }
+
+    static class BlockingGetInt extends TestFieldProvider.GetInt {
+
+        final CountDownLatch release
+
+        BlockingGetInt(CountDownLatch release) {
+            this.release = release
+        }
+
+        @Override
+        IntegerField performFunction() {
+            release.await()
+            super.performFunction()
+        }
+
+        @Override
+        FunctionField<IntegerField> newInstance() {
+            new BlockingGetInt(release)
+        }
+    }
+
+    /** Records when its query and mutation start and complete. */
+    static class RecordingFieldProvider extends TestFieldProvider {
+
+        final List<String> events = [].asSynchronized()
+
+        @Override
+        List<FunctionField> getDiscoveryFunctions() {
+            [new RecordingGetInt(events)]
+        }
+
+        @Override
+        List<FunctionField> getMutationFunctions() {
+            [new RecordingMutation(events)]
+        }
+    }
+
+    static class RecordingGetInt extends TestFieldProvider.GetInt {
+
+        final List<String> events
+
+        RecordingGetInt(List<String> events) {
+            this.events = events
+        }
+
+        @Override
+        IntegerField performFunction() {
+            events << 'query started'
+            Thread.sleep(50)
+            def result = super.performFunction()
+            events << 'query completed'
+            result
+        }
+
+        @Override
+        FunctionField<IntegerField> newInstance() {
+            new RecordingGetInt(events)
+        }
+    }
+
+    static class RecordingMutation extends TestFieldProvider.SampleMutation {
+
+        final List<String> events
+
+        RecordingMutation(List<String> events) {
+            this.events = events
+        }
+
+        @Override
+        TestObjectField performFunction() {
+            events << 'mutation started'
+            Thread.sleep(100)
+            def result = super.performFunction()
+            events << 'mutation completed'
+            result
+        }
+
+        @Override
+        FunctionField<TestObjectField> newInstance() {
+            new RecordingMutation(events)
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package org.codice.ddf.admin.graphql.test
+
+import com.google.common.base.Charsets
+import com.google.common.io.Resources
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider
+import org.codice.ddf.admin.graphql.servlet.PersistedQueryRegistry
+import org.codice.ddf.admin.graphql.servlet.PreparsedDocumentCache
+import org.codice.ddf.admin.graphql.servlet.QueryAdmission
+import org.codice.ddf.admin.graphql.servlet.request.OperationRequest
+import org.codice.ddf.admin.graphql.transform.GraphQLTransformCommons
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class QueryAdmissionTest extends Specification {
+
+    static FUNCTION_NAME = TestFieldProvider.TEST_FUNCTION_NAME
+
+    static EXPENSIVE_QUERY = "{ $FUNCTION_NAME { ${(1..10).collect { "a$it: getInteger" }.join(' ')} } }".toString()
+
+    @Shared
+    GraphQLSchema schema
+
+    PreparsedDocumentCache documentCache = new PreparsedDocumentCache(16)
+
+    QueryAdmission admission = new QueryAdmission(documentCache)
+
+    def setupSpec() {
+        def transformer = new GraphQLTransformCommons()
+        def query = GraphQLObjectType.newObject()
+                .name('Query')
+                .fields(transformer.fieldProviderToQueries(new TestFieldProvider()))
+                .build()
+        def types = transformer.getGraphQlTypeProviders()*.getTypes().flatten() as Set
+        schema = GraphQLSchema.newSchema().query(query).build(types)
+    }
+
+    def 'operations within the query cost limits are admitted with their cost and document'() {
+        when:
+        def prepared = admission.prepare(schema, operation(getQuery('GetBaseFieldTypesQuery')), null)
+
+        then:
+        prepared.getRejection() == null
+        prepared.getCost() == 5
+        !prepared.getDocument().hasErrors()
+        !prepared.isMutation()
+    }
+
+    def 'operations exceeding the query cost limits are rejected'() {
+        setup:
+        limit.call(admission)
+
+        when:
+        def prepared = admission.prepare(schema, operation(query), null)
+
+        then:
+        prepared.getRejection().data == null
+        prepared.getRejection().errors*.message == [message]
+        prepared.getCost() == 0
+
+        where:
+        limit                            | query                                               | message
+        { a -> a.setMaxQueryCost(4) }    | getQuery('GetBaseFieldTypesQuery')                  | 'Query cost of 5 exceeds the maximum query cost of 4.'
+        { a -> a.setMaxQueryDepth(3) }   | getQuery('GetBaseFieldTypesQuery')                  | 'Query depth of 4 exceeds the maximum query depth of 3.'
+        { a -> a.setMaxQueryAliases(1) } | "{ $FUNCTION_NAME { a: getInteger b: getString } }" | 'Query with 2 aliases exceeds the maximum of 1 aliases.'
+    }
+
+    def 'invalid query cost limits keep the current limits'() {
+        setup:
+        admission.setMaxQueryCost(0)
+        admission.setMaxQueryDepth(0)
+        admission.setMaxQueryAliases(-1)
+
+        when:
+        def prepared = admission.prepare(schema, operation(getQuery('GetBaseFieldTypesQuery')), null)
+
+        then:
+        prepared.getRejection() == null
+    }
+
+    def 'operations are parsed and validated once per query and schema'() {
+        when:
+        2.times { admission.prepare(schema, operation(getQuery('GetBaseFieldTypesQuery')), null) }
+
+        then:
+        documentCache.getMissCount() == 1
+        documentCache.getHitCount() == 1
+    }
+
+    def 'operations that fail to validate are admitted without a cost'() {
+        when:
+        def prepared = admission.prepare(schema, operation("{ $FUNCTION_NAME { unknownField } }"), null)
+
+        then:
+        prepared.getRejection() == null
+        prepared.getDocument().hasErrors()
+        prepared.getCost() == 0
+    }
+
+    def 'persisted queries are resolved by hash once registered'() {
+        setup:
+        def query = getQuery('GetBaseFieldTypesQuery')
+        def hash = PersistedQueryRegistry.hash(query)
+
+        expect:
+        admission.prepare(schema, operation(null, hash), null).getRejection().errors*.message == ['PersistedQueryNotFound']
+        admission.prepare(schema, operation(query, hash), null).getRejection() == null
+
+        when:
+        def prepared = admission.prepare(schema, operation(null, hash), null)
+
+        then:
+        prepared.getRejection() == null
+        prepared.getOperation().getQuery() == query
+        prepared.getCost() == 5
+    }
+
+    def 'persisted queries are rejected when the hash does not match the query'() {
+        when:
+        def prepared = admission.prepare(schema, operation(getQuery('GetBaseFieldTypesQuery'), 'abc'), null)
+
+        then:
+        prepared.getRejection().errors*.message == ['provided sha does not match query']
+    }
+
+    def 'only expensive requests acquire their cost from the query cost budget'() {
+        setup:
+        admission.setQueryCostBudget(10)
+        admission.setQueryCostBudgetWaitMillis(0)
+        def cheap = [admission.prepare(schema, operation(getQuery('GetBaseFieldTypesQuery')), null)]
+        def expensive = [admission.prepare(schema, operation(EXPENSIVE_QUERY), null)]
+
+        when:
+        def held = admission.acquire(expensive)
+
+        then:
+        held.isPresent()
+        !admission.acquire(expensive).isPresent()
+        admission.acquire(cheap).isPresent()
+
+        when:
+        held.get().release()
+
+        then:
+        admission.acquire(expensive).isPresent()
+    }
+
+    def 'invalid query cost budgets keep the current budget'() {
+        setup:
+        admission.setQueryCostBudget(10)
+        admission.setQueryCostBudgetWaitMillis(0)
+        admission.setQueryCostBudget(0)
+        admission.setQueryCostBudgetWaitMillis(-1)
+        def expensive = [admission.prepare(schema, operation(EXPENSIVE_QUERY), null)]
+
+        when:
+        def held = admission.acquire(expensive)
+
+        then:
+        held.isPresent()
+        !admission.acquire(expensive).isPresent()
+        admission.@queryCostBudget.getAvailable() == 0
+        admission.@queryCostBudgetWaitMillis == 0
+
+        cleanup:
+        held.get().release()
+    }
+
+    def operation(String query, String persistedQueryHash = null) {
+        def operation = new OperationRequest()
+        operation.setQuery(query)
+        if (persistedQueryHash != null) {
+            operation.setExtensions([persistedQuery: [version: 1, sha256Hash: persistedQueryHash]])
+        }
+        operation
+    }
+
+    def getQuery(String queryName) {
+        Resources.toString(this.getClass().getResource('/queries/' + queryName), Charsets.UTF_8)
+    }
+}
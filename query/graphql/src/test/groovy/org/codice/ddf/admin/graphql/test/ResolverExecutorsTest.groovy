@@ -0,0 +1,76 @@
+package org.codice.ddf.admin.graphql.test
+
+import org.codice.ddf.admin.graphql.servlet.ResolverExecutors
+import spock.lang.Specification
+
+import java.util.concurrent.Executor
+import java.util.function.BiConsumer
+
+class ResolverExecutorsTest extends Specification {
+
+    List<List<Executor>> replacements = []
+
+    ResolverExecutors executors =
+            new ResolverExecutors({ query, mutation -> replacements << [query, mutation] } as BiConsumer)
+
+    def cleanup() {
+        executors.shutdown()
+    }
+
+    def 'executors are only created once started'() {
+        when:
+        executors.setQueryExecutorType(ResolverExecutors.FIXED)
+        executors.setPoolSize(4)
+
+        then:
+        executors.getQueryExecutor() == null
+        replacements.isEmpty()
+
+        when:
+        executors.start()
+        executors.start()
+
+        then:
+        executors.getQueryExecutor() != null
+        executors.getMutationExecutor() == null
+        replacements == [[executors.getQueryExecutor(), null]]
+    }
+
+    def 'executors are only replaced when one of their properties changes'() {
+        setup:
+        executors.setQueryExecutorType(ResolverExecutors.FIXED)
+        executors.setPoolSize(4)
+        executors.start()
+        def started = executors.getQueryExecutor()
+
+        when:
+        executors.setQueryExecutorType(ResolverExecutors.FIXED)
+        executors.setPoolSize(4)
+
+        then:
+        executors.getQueryExecutor().is(started)
+        replacements.size() == 1
+
+        when:
+        executors.setPoolSize(2)
+
+        then:
+        !executors.getQueryExecutor().is(started)
+        started.isShutdown()
+        replacements.size() == 2
+    }
+
+    def 'invalid properties keep the current executors'() {
+        setup:
+        executors.start()
+
+        when:
+        executors.setQueryExecutorType('unknown')
+        executors.setMutationExecutorType(null)
+        executors.setPoolSize(0)
+
+        then:
+        replacements.size() == 1
+        executors.getQueryExecutor() == null
+    }
+}
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.security.common.fields.ldap;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -31,20 +32,15 @@ public class LdapUseCase extends BaseEnumField<String> {
   public static final EnumValue<String> AUTHENTICATION_AND_ATTRIBUTE_STORE =
       new AuthenticationAndAttributeStore();
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(AUTHENTICATION, ATTRIBUTE_STORE, AUTHENTICATION_AND_ATTRIBUTE_STORE);
+
   public LdapUseCase() {
     this(null);
   }
 
   private LdapUseCase(EnumValue<String> bindMethod) {
-    super(
-        DEFAULT_FIELD_NAME,
-        FIELD_TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(
-            new AuthenticationEnumValue(),
-            new AttributeStore(),
-            new AuthenticationAndAttributeStore()),
-        bindMethod);
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION, ENUM_VALUES, bindMethod);
   }
 
   public boolean isAuthentication() {
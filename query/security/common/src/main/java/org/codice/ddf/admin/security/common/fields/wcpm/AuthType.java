@@ -22,6 +22,8 @@ import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.api.poller.EnumValuePoller;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
+import org.codice.ddf.admin.common.fields.base.EnumValueIndex;
+import org.codice.ddf.admin.common.poller.BaseEnumValuePoller;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
 public class AuthType extends BaseEnumField<String> {
@@ -59,6 +61,19 @@ public class AuthType extends BaseEnumField<String> {
         .orElse(new ArrayList<>());
   }
 
+  /** The index of the poller is only rebuilt when its authentication handlers change. */
+  @Override
+  @SuppressWarnings("unchecked")
+  protected EnumValueIndex<String> getEnumValueIndex() {
+    return serviceReader
+        .getServices(EnumValuePoller.class, AUTH_TYPE_POLLER_FILTER)
+        .stream()
+        .findFirst()
+        .filter(BaseEnumValuePoller.class::isInstance)
+        .map(poller -> ((BaseEnumValuePoller<?, String>) poller).getEnumValueIndex())
+        .orElseGet(super::getEnumValueIndex);
+  }
+
   public static class ListImpl extends BaseListField<AuthType> {
 
     public static final String DEFAULT_FIELD_NAME = "authTypes";
@@ -22,6 +22,8 @@ import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.api.poller.EnumValuePoller;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
+import org.codice.ddf.admin.common.fields.base.EnumValueIndex;
+import org.codice.ddf.admin.common.poller.BaseEnumValuePoller;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceReader;
 
 public class Realm extends BaseEnumField<String> {
@@ -55,6 +57,21 @@ public class Realm extends BaseEnumField<String> {
     return poller.hasNext() ? poller.next().getEnumValues() : new ArrayList<>();
   }
 
+  /** The index of the poller is only rebuilt when its realms change. */
+  @Override
+  @SuppressWarnings("unchecked")
+  protected EnumValueIndex<String> getEnumValueIndex() {
+    Iterator<EnumValuePoller> poller =
+        serviceReader.getServices(EnumValuePoller.class, REALM_POLLER_FILTER).iterator();
+    if (poller.hasNext()) {
+      EnumValuePoller realmPoller = poller.next();
+      if (realmPoller instanceof BaseEnumValuePoller) {
+        return ((BaseEnumValuePoller<?, String>) realmPoller).getEnumValueIndex();
+      }
+    }
+    return super.getEnumValueIndex();
+  }
+
   @Override
   public Realm isRequired(boolean required) {
     super.isRequired(required);
@@ -79,7 +79,7 @@ public class LdapServiceCommons {
 
     configs.stream().forEach(config -> config.bindUserInfoField().password(FLAG_PASSWORD));
 
-    return new LdapConfigurationField.ListImpl().addAll(configs);
+    return new LdapConfigurationField.ListImpl().addAllOwned(configs);
   }
 
   public Map<String, Object> ldapConfigToLdapClaimsHandlerService(
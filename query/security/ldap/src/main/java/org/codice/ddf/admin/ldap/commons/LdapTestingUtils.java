@@ -26,8 +26,11 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
+import org.codice.ddf.admin.api.fields.Cancellation;
 import org.codice.ddf.admin.api.report.Report;
+import org.codice.ddf.admin.common.Cancellations;
 import org.codice.ddf.admin.common.report.Reports;
 import org.codice.ddf.admin.ldap.fields.LdapDistinguishedName;
 import org.codice.ddf.admin.ldap.fields.connection.LdapBindUserInfo;
@@ -42,6 +45,7 @@ import org.forgerock.opendj.ldap.requests.Requests;
 import org.forgerock.opendj.ldap.responses.SearchResultEntry;
 import org.forgerock.opendj.ldif.ConnectionEntryReader;
 import org.forgerock.util.Options;
+import org.forgerock.util.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,6 +56,9 @@ public class LdapTestingUtils {
 
   private static final String HTTP_PROTOCOLS_SYS_PROP = "https.protocols";
 
+  // The default connect timeout of the LDAP connection factory
+  private static final long CONNECT_TIMEOUT_MILLIS = 10000;
+
   /**
    * Attempts to connect to the given ldap address given the hostname, port, and encryptionMethod
    *
@@ -84,11 +91,21 @@ public class LdapTestingUtils {
       ldapOptions.set(
           LDAPConnectionFactory.TRANSPORT_PROVIDER_CLASS_LOADER,
           LdapTestingUtils.class.getClassLoader());
+
+      setTimeouts(ldapOptions);
     } catch (Exception e) {
       LOGGER.debug("Error prepping LDAP connection", e);
       return new LdapConnectionAttempt().addErrorMessage(failedTestSetup());
     }
 
+    if (Cancellations.current().isCancelled()) {
+      LOGGER.debug(
+          "Request cancelled before connecting to LDAP [{}:{}]",
+          connection.hostname(),
+          connection.port());
+      return new LdapConnectionAttempt().addErrorMessage(cannotConnectError(connection.getPath()));
+    }
+
     Connection ldapConnection;
 
     try (LDAPConnectionFactory connectionFactory =
@@ -103,6 +120,26 @@ public class LdapTestingUtils {
     return new LdapConnectionAttempt(ldapConnection);
   }
 
+  /**
+   * Keeps the connection and its requests, such as subtree searches, from outliving the deadline of
+   * the request the current thread works on.
+   */
+  private static void setTimeouts(Options ldapOptions) {
+    Cancellation cancellation = Cancellations.current();
+    if (cancellation.getRemainingMillis() == Long.MAX_VALUE) {
+      return;
+    }
+
+    ldapOptions.set(
+        LDAPConnectionFactory.CONNECT_TIMEOUT,
+        Duration.duration(
+            Cancellations.timeoutMillis(CONNECT_TIMEOUT_MILLIS), TimeUnit.MILLISECONDS));
+    // At least 1 since the remaining time drops to 0 once cancelled and 0 waits forever
+    ldapOptions.set(
+        LDAPConnectionFactory.REQUEST_TIMEOUT,
+        Duration.duration(Cancellations.timeoutMillis(0), TimeUnit.MILLISECONDS));
+  }
+
   /**
    * Binds the user to the LDAP connection.
    *
@@ -176,7 +213,9 @@ public class LdapTestingUtils {
 
     List<SearchResultEntry> entries = new ArrayList<>();
     try {
-      while (entries.size() < maxResults && reader.hasNext()) {
+      while (entries.size() < maxResults
+          && !Cancellations.current().isCancelled()
+          && reader.hasNext()) {
         if (!reader.isReference()) {
           SearchResultEntry resultEntry = reader.readEntry();
           entries.add(resultEntry);
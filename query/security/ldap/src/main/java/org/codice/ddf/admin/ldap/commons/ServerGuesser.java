@@ -36,6 +36,7 @@ import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import org.codice.ddf.admin.common.Cancellations;
 import org.codice.ddf.admin.ldap.fields.query.LdapTypeField;
 import org.forgerock.opendj.ldap.Attribute;
 import org.forgerock.opendj.ldap.AttributeDescription;
@@ -257,9 +258,15 @@ public abstract class ServerGuesser {
 
     List<SearchResultEntry> results = new ArrayList<>();
     for (String baseContext : baseContexts) {
+      if (Cancellations.current().isCancelled()) {
+        LOGGER.debug("Request cancelled, skipping the remaining base contexts.");
+        break;
+      }
+
+      // Closing the reader abandons the search once the request is cancelled
       try (ConnectionEntryReader reader =
           connection.search(baseContext, SearchScope.WHOLE_SUBTREE, query)) {
-        while (reader.hasNext()) {
+        while (!Cancellations.current().isCancelled() && reader.hasNext()) {
           if (!reader.isReference()) {
             results.add(reader.readEntry());
           } else {
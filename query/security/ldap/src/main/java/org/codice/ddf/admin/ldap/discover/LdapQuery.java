@@ -127,7 +127,7 @@ public class LdapQuery extends BaseFunctionField<MapField.ListImpl> {
       LOGGER.warn("Error closing LDAP connection", e);
     }
 
-    return new MapField.ListImpl().addAll(convertedSearchResults);
+    return new MapField.ListImpl().addAllOwned(convertedSearchResults);
   }
 
   @Override
@@ -140,6 +140,11 @@ public class LdapQuery extends BaseFunctionField<MapField.ListImpl> {
     return RETURN_TYPE;
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(
@@ -103,6 +103,11 @@ public class LdapRecommendedSettings extends BaseFunctionField<LdapRecommendedSe
     return RETURN_TYPE;
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(
@@ -104,6 +104,11 @@ public class LdapUserAttributes extends BaseFunctionField<StringField.ListImpl>
     return new LdapUserAttributes();
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.ldap.fields.connection;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -24,17 +25,15 @@ public class LdapBindMethod extends BaseEnumField<String> {
 
   public static final String DESCRIPTION = "The method of binding a user to the LDAP connection.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(new SimpleEnumValue(), new DigestMd5Sasl());
+
   LdapBindMethod() {
     this(null);
   }
 
   private LdapBindMethod(EnumValue<String> bindMethod) {
-    super(
-        DEFAULT_FIELD_NAME,
-        FIELD_TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(new SimpleEnumValue(), new DigestMd5Sasl()),
-        bindMethod);
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION, ENUM_VALUES, bindMethod);
   }
 
   public static final class SimpleEnumValue implements EnumValue<String> {
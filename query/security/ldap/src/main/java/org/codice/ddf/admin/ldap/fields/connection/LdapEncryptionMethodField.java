@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.ldap.fields.connection;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -26,17 +27,15 @@ public class LdapEncryptionMethodField extends BaseEnumField<String> {
   public static final String DESCRIPTION =
       "All possible encryption methods supported to establish an LDAP connection.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(new NoEncryption(), new LdapsEncryption(), new StartTlsEncryption());
+
   public LdapEncryptionMethodField() {
     this(null);
   }
 
   protected LdapEncryptionMethodField(EnumValue<String> encryptionMethod) {
-    super(
-        DEFAULT_FIELD_NAME,
-        FIELD_TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(new NoEncryption(), new LdapsEncryption(), new StartTlsEncryption()),
-        encryptionMethod);
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION, ENUM_VALUES, encryptionMethod);
   }
 
   public static final class NoEncryption implements EnumValue<String> {
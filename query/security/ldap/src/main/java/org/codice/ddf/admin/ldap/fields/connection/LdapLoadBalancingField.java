@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.ldap.fields.connection;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -25,17 +26,15 @@ public class LdapLoadBalancingField extends BaseEnumField<String> {
   public static final String DESCRIPTION =
       "The load balancing algorithm to use for LDAP connections";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(new RoundRobinEnumValue(), new FailoverEnumValue());
+
   public LdapLoadBalancingField() {
     this(new RoundRobinEnumValue());
   }
 
   private LdapLoadBalancingField(EnumValue<String> loadBalancing) {
-    super(
-        DEFAULT_FIELD_NAME,
-        FIELD_TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(new RoundRobinEnumValue(), new FailoverEnumValue()),
-        loadBalancing);
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION, ENUM_VALUES, loadBalancing);
   }
 
   public static final class RoundRobinEnumValue implements EnumValue<String> {
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.ldap.fields.query;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -24,22 +25,20 @@ public class LdapTypeField extends BaseEnumField<String> {
 
   public static final String DESCRIPTION = "The type of LDAP being connected to.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(
+          new UnknownEnumValue(),
+          new ActiveDirectory(),
+          new OpenLdap(),
+          new OpenDJ(),
+          new EmbeddedLdap());
+
   public LdapTypeField() {
     this(null);
   }
 
   private LdapTypeField(EnumValue<String> ldapType) {
-    super(
-        DEFAULT_FIELD_NAME,
-        FIELD_TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(
-            new UnknownEnumValue(),
-            new ActiveDirectory(),
-            new OpenLdap(),
-            new OpenDJ(),
-            new EmbeddedLdap()),
-        ldapType);
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION, ENUM_VALUES, ldapType);
   }
 
   public static final class UnknownEnumValue implements EnumValue<String> {
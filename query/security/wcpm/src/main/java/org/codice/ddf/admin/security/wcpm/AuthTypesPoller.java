@@ -29,7 +29,7 @@ public class AuthTypesPoller extends BaseEnumValuePoller<AuthenticationHandler,
   private Map<String, String> descriptionMap = new HashMap<>();
 
   @Override
-  public List<EnumValue<String>> getEnumValues() {
+  protected List<EnumValue<String>> createEnumValues() {
     return authHandlers.stream().map(this::authHandlerToEnumValue).collect(Collectors.toList());
   }
 
@@ -54,11 +54,13 @@ public class AuthTypesPoller extends BaseEnumValuePoller<AuthenticationHandler,
 
   public void setAuthHandlers(List<AuthenticationHandler> authHandlers) {
     this.authHandlers = authHandlers;
+    invalidateEnumValues();
   }
 
   public void setDescriptionMap(Map<String, String> descriptionMap) {
     Map<String, String> newMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     newMap.putAll(descriptionMap);
     this.descriptionMap = newMap;
+    invalidateEnumValues();
   }
 }
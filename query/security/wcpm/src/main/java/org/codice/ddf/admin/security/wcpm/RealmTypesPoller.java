@@ -30,7 +30,7 @@ public class RealmTypesPoller extends BaseEnumValuePoller<JaasRealm, String> {
   private List<JaasRealm> realms = new ArrayList<>();
 
   @Override
-  public List<EnumValue<String>> getEnumValues() {
+  protected List<EnumValue<String>> createEnumValues() {
     return realms.stream().map(this::realmToEnumValue).collect(Collectors.toList());
   }
 
@@ -57,9 +57,11 @@ public class RealmTypesPoller extends BaseEnumValuePoller<JaasRealm, String> {
     Map<String, String> newMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
     newMap.putAll(descriptionMap);
     this.descriptionMap = newMap;
+    invalidateEnumValues();
   }
 
   public void setRealms(List<JaasRealm> realms) {
     this.realms = realms;
+    invalidateEnumValues();
   }
 }
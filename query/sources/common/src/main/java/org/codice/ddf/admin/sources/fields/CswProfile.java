@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.sources.fields;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -26,18 +27,16 @@ public class CswProfile extends BaseEnumField<String> {
   public static final String DESCRIPTION =
       "CSW application profile specifying the capabilities of the CSW server when federating to other systems.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(
+          new DDFCswFederatedSource(), new CswFederatedSource(), new GmdCswFederatedSource());
+
   public CswProfile() {
     this(null);
   }
 
   public CswProfile(EnumValue<String> cswProfile) {
-    super(
-        DEFAULT_FIELD_NAME,
-        TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(
-            new DDFCswFederatedSource(), new CswFederatedSource(), new GmdCswFederatedSource()),
-        cswProfile);
+    super(DEFAULT_FIELD_NAME, TYPE_NAME, DESCRIPTION, ENUM_VALUES, cswProfile);
   }
 
   public static final class CswFederatedSource implements EnumValue<String> {
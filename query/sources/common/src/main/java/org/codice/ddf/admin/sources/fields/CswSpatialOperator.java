@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.sources.fields;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -26,29 +27,27 @@ public class CswSpatialOperator extends BaseEnumField<String> {
   public static final String DESCRIPTION =
       "A spatial operator determines whether its geometric arguments satisfy the stated spatial relationship.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(
+          new NoFilter(),
+          new BboxEnumValue(),
+          new BeyondEnumValue(),
+          new ContainsEnumValue(),
+          new CrossesEnumValue(),
+          new DisjointEnumValue(),
+          new DWithinEnumValue(),
+          new EqualsEnumValue(),
+          new IntersectsEnumValue(),
+          new OverlapsEnumValue(),
+          new TouchesEnumValue(),
+          new WithinEnumValue());
+
   public CswSpatialOperator() {
     this(new NoFilter());
   }
 
   public CswSpatialOperator(EnumValue<String> spatialOperator) {
-    super(
-        DEFAULT_FIELD_NAME,
-        TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(
-            new NoFilter(),
-            new BboxEnumValue(),
-            new BeyondEnumValue(),
-            new ContainsEnumValue(),
-            new CrossesEnumValue(),
-            new DisjointEnumValue(),
-            new DWithinEnumValue(),
-            new EqualsEnumValue(),
-            new IntersectsEnumValue(),
-            new OverlapsEnumValue(),
-            new TouchesEnumValue(),
-            new WithinEnumValue()),
-        spatialOperator);
+    super(DEFAULT_FIELD_NAME, TYPE_NAME, DESCRIPTION, ENUM_VALUES, spatialOperator);
   }
 
   public static final class NoFilter implements EnumValue<String> {
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.sources.fields;
 
 import com.google.common.collect.ImmutableList;
+import java.util.List;
 import org.codice.ddf.admin.api.fields.EnumValue;
 import org.codice.ddf.admin.common.fields.base.BaseEnumField;
 
@@ -28,17 +29,15 @@ public class WfsVersion extends BaseEnumField<String> {
           + " The version number contains three non-negative integers in the form \"x.y.z\" where y and z shall not exceed 99."
           + " Refer to OGC 06-121r3 section 7.3.1 for more information.";
 
+  private static final List<EnumValue<String>> ENUM_VALUES =
+      ImmutableList.of(new Wfs1(), new Wfs2());
+
   public WfsVersion() {
     this(null);
   }
 
   protected WfsVersion(EnumValue<String> wfsVersion) {
-    super(
-        DEFAULT_FIELD_NAME,
-        TYPE_NAME,
-        DESCRIPTION,
-        ImmutableList.of(new Wfs1(), new Wfs2()),
-        wfsVersion);
+    super(DEFAULT_FIELD_NAME, TYPE_NAME, DESCRIPTION, ENUM_VALUES, wfsVersion);
   }
 
   public static final class Wfs1 implements EnumValue<String> {
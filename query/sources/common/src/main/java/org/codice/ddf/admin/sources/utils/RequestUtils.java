@@ -25,7 +25,9 @@ import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.jaxrs.client.WebClient;
+import org.apache.cxf.transports.http.configuration.HTTPClientPolicy;
 import org.codice.ddf.admin.api.report.Report;
+import org.codice.ddf.admin.common.Cancellations;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.ResponseField;
 import org.codice.ddf.admin.common.fields.common.UrlField;
@@ -87,6 +89,7 @@ public class RequestUtils {
     }
 
     try {
+      boundTimeouts(webClient);
       Response response = webClient.get();
       return Reports.from(responseFieldFromResponse(response, urlField));
 
@@ -137,6 +140,7 @@ public class RequestUtils {
       return Reports.fromErrors(endpointIsReachable(urlField));
     }
     try {
+      boundTimeouts(webClient);
       Response response = webClient.post(content);
       return Reports.from(responseFieldFromResponse(response, urlField));
 
@@ -146,7 +150,8 @@ public class RequestUtils {
   }
 
   /**
-   * Attempts to open a connection to a URL.
+   * Attempts to open a connection to a URL. No connection is attempted once the request the current
+   * thread works on is cancelled.
    *
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#CANNOT_CONNECT}
@@ -156,10 +161,15 @@ public class RequestUtils {
    *     org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
    */
   public Report<Void> endpointIsReachable(UrlField urlField) {
+    if (Cancellations.current().isCancelled()) {
+      LOGGER.debug("Request cancelled, not connecting to {}.", urlField);
+      return Reports.from(cannotConnectError(urlField.getPath()));
+    }
+
     URLConnection urlConnection = null;
     try {
       urlConnection = new URL(urlField.getValue()).openConnection();
-      urlConnection.setConnectTimeout(CLIENT_TIMEOUT_MILLIS);
+      urlConnection.setConnectTimeout((int) Cancellations.timeoutMillis(CLIENT_TIMEOUT_MILLIS));
       urlConnection.connect();
       LOGGER.debug("Successfully reached {}.", urlField);
     } catch (IOException e) {
@@ -254,6 +264,18 @@ public class RequestUtils {
     return new WebClientBuilder(url, username, password, serviceClass);
   }
 
+  /** Keeps the client from waiting on the response past the deadline of the current request. */
+  private static void boundTimeouts(WebClient webClient) {
+    if (Cancellations.current().getRemainingMillis() == Long.MAX_VALUE) {
+      return;
+    }
+
+    HTTPClientPolicy clientPolicy = WebClient.getConfig(webClient).getHttpConduit().getClient();
+    clientPolicy.setConnectionTimeout(
+        Cancellations.timeoutMillis(clientPolicy.getConnectionTimeout()));
+    clientPolicy.setReceiveTimeout(Cancellations.timeoutMillis(clientPolicy.getReceiveTimeout()));
+  }
+
   private ResponseField responseFieldFromResponse(Response response, UrlField requestUrl) {
     String contentType =
         response.getMediaType() == null ? null : response.getMediaType().toString();
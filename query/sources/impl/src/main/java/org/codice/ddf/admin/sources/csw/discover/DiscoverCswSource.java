@@ -84,6 +84,11 @@ public class DiscoverCswSource extends BaseFunctionField<CswSourceConfigurationF
     return new DiscoverCswSource(cswSourceUtils);
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.CANNOT_CONNECT, DefaultMessages.UNKNOWN_ENDPOINT);
@@ -58,13 +58,14 @@ public class GetCswConfigurations extends BaseFunctionField<ListField<CswSourceI
 
   @Override
   public ListField<CswSourceInfoField> performFunction() {
-    ListField<CswSourceInfoField> cswSourceInfoFields = new CswSourceInfoField.ListImpl();
+    CswSourceInfoField.ListImpl cswSourceInfoFields = new CswSourceInfoField.ListImpl();
 
     List<CswSourceConfigurationField> configs =
         sourceUtilCommons.getSourceConfigurations(
             CSW_FACTORY_PIDS, SERVICE_PROPS_TO_CSW_CONFIG, pid.getValue());
 
-    configs.forEach(config -> cswSourceInfoFields.add(new CswSourceInfoField().config(config)));
+    cswSourceInfoFields.expectedSize(configs.size());
+    configs.forEach(config -> cswSourceInfoFields.adopt(new CswSourceInfoField().config(config)));
 
     for (CswSourceInfoField sourceInfoField : cswSourceInfoFields.getList()) {
       sourceUtilCommons.populateAvailability(
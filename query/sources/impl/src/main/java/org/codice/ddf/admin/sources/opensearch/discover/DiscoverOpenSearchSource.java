@@ -87,6 +87,11 @@ public class DiscoverOpenSearchSource
     return new DiscoverOpenSearchSource(openSearchSourceUtils);
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.CANNOT_CONNECT, DefaultMessages.UNKNOWN_ENDPOINT);
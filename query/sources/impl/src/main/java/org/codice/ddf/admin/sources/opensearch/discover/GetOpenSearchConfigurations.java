@@ -59,15 +59,16 @@ public class GetOpenSearchConfigurations
 
   @Override
   public ListField<OpenSearchSourceInfoField> performFunction() {
-    ListField<OpenSearchSourceInfoField> cswSourceInfoFields =
+    OpenSearchSourceInfoField.ListImpl cswSourceInfoFields =
         new OpenSearchSourceInfoField.ListImpl();
 
     List<OpenSearchSourceConfigurationField> configs =
         sourceUtilCommons.getSourceConfigurations(
             OPENSEARCH_FACTORY_PIDS, SERVICE_PROPS_TO_OPENSEARCH_CONFIG, pid.getValue());
 
+    cswSourceInfoFields.expectedSize(configs.size());
     configs.forEach(
-        config -> cswSourceInfoFields.add(new OpenSearchSourceInfoField().config(config)));
+        config -> cswSourceInfoFields.adopt(new OpenSearchSourceInfoField().config(config)));
 
     for (OpenSearchSourceInfoField sourceInfoField : cswSourceInfoFields.getList()) {
       sourceUtilCommons.populateAvailability(
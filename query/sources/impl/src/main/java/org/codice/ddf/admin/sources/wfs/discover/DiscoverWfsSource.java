@@ -84,6 +84,11 @@ public class DiscoverWfsSource extends BaseFunctionField<WfsSourceConfigurationF
     return new DiscoverWfsSource(wfsSourceUtils);
   }
 
+  @Override
+  public int getCost() {
+    return NETWORK_PROBE_COST;
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.CANNOT_CONNECT, DefaultMessages.UNKNOWN_ENDPOINT);
@@ -61,7 +61,8 @@ public class GetWfsConfigurations extends BaseFunctionField<ListField<WfsSourceI
         sourceUtilCommons.getSourceConfigurations(
             WFS_FACTORY_PIDS, SERVICE_PROPS_TO_WFS_CONFIG, pid.getValue());
 
-    configs.forEach(config -> cswSourceInfoFields.add(new WfsSourceInfoField().config(config)));
+    cswSourceInfoFields.expectedSize(configs.size());
+    configs.forEach(config -> cswSourceInfoFields.adopt(new WfsSourceInfoField().config(config)));
 
     for (WfsSourceInfoField sourceInfoField : cswSourceInfoFields.getList()) {
       sourceUtilCommons.populateAvailability(
@@ -1,9 +1,9 @@
 import { ApolloClient } from 'react-apollo'
-import { createBatchingNetworkInterface } from 'apollo-client'
 import { Map, List, fromJS } from 'immutable'
+import createPersistedQueryNetworkInterface from 'persisted-queries'
 
 const reduxRootSelector = (state) => state.get('apollo')
-const networkInterface = createBatchingNetworkInterface({
+const networkInterface = createPersistedQueryNetworkInterface({
   uri: '/admin/hub/graphql',
   batchInterval: 100,
   opts: {
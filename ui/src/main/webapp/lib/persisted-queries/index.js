@@ -0,0 +1,127 @@
+import { print } from 'graphql/language/printer'
+import { createBatchingNetworkInterface } from 'apollo-client'
+
+export const PERSISTED_QUERY_NOT_FOUND = 'PersistedQueryNotFound'
+
+const subtle = () => window.crypto && window.crypto.subtle
+
+export const toHex = (buffer) =>
+  Array.prototype.map.call(new Uint8Array(buffer), (byte) => ('0' + byte.toString(16)).slice(-2)).join('')
+
+export const toUtf8 = (str) => {
+  const bytes = unescape(encodeURIComponent(str))
+  return Uint8Array.from(bytes, (c) => c.charCodeAt(0))
+}
+
+const sha256 = (query) => subtle().digest('SHA-256', toUtf8(query)).then(toHex)
+
+export const withHash = (request, sha256Hash) => {
+  const hashed = { ...request, extensions: { persistedQuery: { version: 1, sha256Hash } } }
+  delete hashed.query
+  return hashed
+}
+
+export const isPersistedQueryNotFound = (result) =>
+  result && Array.isArray(result.errors) &&
+  result.errors.some(({ message }) => message === PERSISTED_QUERY_NOT_FOUND)
+
+const post = (uri, options, body) => window.fetch(uri, {
+  ...options,
+  body: JSON.stringify(body),
+  method: 'POST',
+  headers: {
+    Accept: '*/*',
+    'Content-Type': 'application/json',
+    ...options.headers
+  }
+}).then((response) => {
+  if (!response.ok) {
+    const error = new Error(`Network request failed with status ${response.status} - "${response.statusText}"`)
+    error.response = response
+    throw error
+  }
+  return response.json()
+})
+
+// Applies the batch middlewares one after the other, each one calling next once
+// it is done with the requests and options.
+const applyMiddlewares = (middlewares, request) => middlewares.reduce(
+  (applied, middleware) => applied.then(() =>
+    new Promise((resolve) => middleware.applyBatchMiddleware(request, resolve))),
+  Promise.resolve()
+).then(() => request)
+
+// A batching network interface that sends only the hash of each query and
+// falls back to the full query text for the queries the server does not know
+// yet. Browsers without WebCrypto get the regular batching network interface,
+// which keeps sending the full query text.
+export default ({ uri, opts = {}, batchInterval = 10 }) => {
+  if (!subtle()) {
+    return createBatchingNetworkInterface({ uri, opts, batchInterval })
+  }
+
+  const middlewares = []
+
+  const hashes = {}
+  const hash = (query) => {
+    if (!hashes[query]) {
+      hashes[query] = sha256(query)
+    }
+    return hashes[query]
+  }
+
+  const batchQuery = (requests) =>
+    applyMiddlewares(middlewares, { requests, options: { ...opts } }).then(({ requests, options }) => {
+      const printed = requests.map((request) => ({ ...request, query: print(request.query) }))
+
+      return Promise.all(printed.map(({ query }) => hash(query))).then((sha256Hashes) =>
+        post(uri, options, printed.map((request, i) => withHash(request, sha256Hashes[i])))
+          .then((results) => {
+            const missing = results
+              .map((result, i) => isPersistedQueryNotFound(result) ? i : -1)
+              .filter((i) => i >= 0)
+
+            if (missing.length === 0) {
+              return results
+            }
+
+            const retry = missing.map((i) => ({
+              ...withHash(printed[i], sha256Hashes[i]),
+              query: printed[i].query
+            }))
+
+            return post(uri, options, retry).then((retried) => {
+              missing.forEach((index, i) => { results[index] = retried[i] })
+              return results
+            })
+          })
+      )
+    })
+
+  // Requests made within the batch interval of the first one are sent together
+  let queued = []
+  const flush = () => {
+    const batch = queued
+    queued = []
+    batchQuery(batch.map(({ request }) => request)).then(
+      (results) => batch.forEach(({ resolve }, i) => resolve(results[i])),
+      (error) => batch.forEach(({ reject }) => reject(error))
+    )
+  }
+
+  const networkInterface = {
+    query: (request) => new Promise((resolve, reject) => {
+      if (queued.length === 0) {
+        setTimeout(flush, batchInterval)
+      }
+      queued.push({ request, resolve, reject })
+    }),
+    batchQuery,
+    use: (batchMiddlewares) => {
+      middlewares.push(...batchMiddlewares)
+      return networkInterface
+    }
+  }
+
+  return networkInterface
+}
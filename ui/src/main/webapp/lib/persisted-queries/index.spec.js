@@ -0,0 +1,25 @@
+import { expect } from 'chai'
+import {
+  PERSISTED_QUERY_NOT_FOUND,
+  isPersistedQueryNotFound,
+  toHex,
+  withHash
+} from './'
+
+describe('Persisted Queries', () => {
+  it('Hash replaces the query text', () => {
+    const request = { query: '{ a }', variables: { b: 1 } }
+    expect(withHash(request, 'abc')).to.deep.equal({
+      variables: { b: 1 },
+      extensions: { persistedQuery: { version: 1, sha256Hash: 'abc' } }
+    })
+    expect(request.query, 'Modified the original request.').to.equal('{ a }')
+  })
+  it('Digest is encoded as lowercase hex', () => {
+    expect(toHex(new Uint8Array([0, 15, 171]).buffer)).to.equal('000fab')
+  })
+  it('Detects unknown persisted queries', () => {
+    expect(isPersistedQueryNotFound({ errors: [{ message: PERSISTED_QUERY_NOT_FOUND }] })).to.equal(true)
+    expect(isPersistedQueryNotFound({ data: {} })).to.equal(false)
+  })
+})